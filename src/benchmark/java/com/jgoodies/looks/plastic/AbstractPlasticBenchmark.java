@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import javax.swing.UIManager;
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * The superclass of the Plastic painting benchmarks. Installs
+ * the PlasticXP look&amp;feel with the theme given by the {@code theme}
+ * parameter and provides a headless {@code BufferedImage}
+ * that the benchmarks paint into.<p>
+ *
+ * The benchmarks live in the Plastic package, so they can invoke
+ * the package-private paint helpers directly.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+@State(Scope.Thread)
+public abstract class AbstractPlasticBenchmark {
+
+    /**
+     * The unqualified class name of the Plastic theme to paint with.
+     */
+    @Param({"SkyBluer", "ExperienceBlue", "DesertBluer", "DarkStar"})
+    public String theme;
+
+    /**
+     * Holds the image painted into; lazily created per trial.
+     */
+    protected BufferedImage image;
+
+    /**
+     * The graphics of {@code image}.
+     */
+    protected Graphics2D g2;
+
+
+    // Setup ******************************************************************
+
+    /**
+     * Sets the Plastic theme and installs the PlasticXP look&amp;feel,
+     * then creates the image of the given size and its graphics.
+     *
+     * @param width    the width of the image to paint into
+     * @param height   the height of the image to paint into
+     *
+     * @throws UnsupportedLookAndFeelException if PlasticXP is unsupported
+     */
+    protected void setUp(int width, int height) throws UnsupportedLookAndFeelException {
+        PlasticTheme plasticTheme = PlasticLookAndFeel.createTheme(theme);
+        if (plasticTheme == null) {
+            throw new IllegalArgumentException("Unknown Plastic theme: " + theme);
+        }
+        PlasticLookAndFeel.setPlasticTheme(plasticTheme);
+        UIManager.setLookAndFeel(new PlasticXPLookAndFeel());
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        g2 = image.createGraphics();
+    }
+
+
+    @TearDown
+    public void tearDown() {
+        if (g2 != null) {
+            g2.dispose();
+            g2 = null;
+        }
+        image = null;
+    }
+
+
+}
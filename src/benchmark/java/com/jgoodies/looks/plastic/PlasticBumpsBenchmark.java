@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures {@link PlasticBumps#paintIcon} for toolbar handles
+ * and internal frame title bumps of different sizes.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlasticBumpsBenchmark extends AbstractPlasticBenchmark {
+
+    /**
+     * The edge length of the bump area.
+     */
+    @Param({"8", "64", "256"})
+    public int size;
+
+    private PlasticBumps bumps;
+
+
+    @Setup
+    public void setUp() throws UnsupportedLookAndFeelException {
+        setUp(size, size);
+        bumps = new PlasticBumps(size, size,
+                PlasticLookAndFeel.getPrimaryControlHighlight(),
+                PlasticLookAndFeel.getPrimaryControlDarkShadow(),
+                PlasticLookAndFeel.getPrimaryControlShadow());
+    }
+
+
+    @Benchmark
+    public void paintIcon() {
+        bumps.paintIcon(null, g2, 0, 0);
+    }
+
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JLabel;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import javax.swing.SwingConstants;
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures {@link PlasticTabbedPaneUI#paintTab} for a selected
+ * and an unselected tab in a laid out tabbed pane.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlasticTabbedPaneUIBenchmark extends AbstractPlasticBenchmark {
+
+    /**
+     * The width of the tabbed pane; the height is fixed.
+     */
+    @Param({"400", "1200"})
+    public int size;
+
+    /**
+     * The tab layout policy, either {@code wrap} or {@code scroll}.
+     */
+    @Param({"wrap", "scroll"})
+    public String layout;
+
+    private JTabbedPane tabbedPane;
+    private PlasticTabbedPaneUI ui;
+    private Rectangle[] rects;
+    private final Rectangle iconRect = new Rectangle();
+    private final Rectangle textRect = new Rectangle();
+
+
+    @Setup
+    public void setUp() throws UnsupportedLookAndFeelException {
+        setUp(size, 200);
+        tabbedPane = new JTabbedPane(SwingConstants.TOP,
+                "scroll".equals(layout)
+                    ? JTabbedPane.SCROLL_TAB_LAYOUT
+                    : JTabbedPane.WRAP_TAB_LAYOUT);
+        for (int i = 0; i < 12; i++) {
+            tabbedPane.addTab("Document " + i, new JLabel("Content " + i));
+        }
+        tabbedPane.setSize(size, 200);
+        tabbedPane.doLayout();
+        ui = (PlasticTabbedPaneUI) tabbedPane.getUI();
+        // In scroll tab layout, tabs are painted in the viewport's
+        // coordinate space; the view position is still at the origin.
+        Point origin = new Point();
+        for (Component child : tabbedPane.getComponents()) {
+            if (child instanceof JViewport) {
+                origin = child.getLocation();
+            }
+        }
+        int tabCount = tabbedPane.getTabCount();
+        rects = new Rectangle[tabCount];
+        for (int i = 0; i < tabCount; i++) {
+            rects[i] = ui.getTabBounds(tabbedPane, i);
+            rects[i].translate(-origin.x, -origin.y);
+        }
+    }
+
+
+    @Benchmark
+    public void paintSelectedTab() {
+        ui.paintTab(g2, SwingConstants.TOP, rects, 0, iconRect, textRect);
+    }
+
+    @Benchmark
+    public void paintUnselectedTab() {
+        ui.paintTab(g2, SwingConstants.TOP, rects, 1, iconRect, textRect);
+    }
+
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.awt.Rectangle;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the Plastic 3D effects painted on buttons, toggle buttons,
+ * combo boxes and scroll bar thumbs.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlasticUtilsBenchmark extends AbstractPlasticBenchmark {
+
+    /**
+     * The width and height of the painted area,
+     * e.g. a toolbar button, a push button, or a scroll bar thumb.
+     */
+    @Param({"22x22", "75x23", "17x200"})
+    public String size;
+
+    private Rectangle rect;
+
+
+    @Setup
+    public void setUp() throws UnsupportedLookAndFeelException {
+        int separator = size.indexOf('x');
+        int width  = Integer.parseInt(size.substring(0, separator));
+        int height = Integer.parseInt(size.substring(separator + 1));
+        setUp(width, height);
+        rect = new Rectangle(0, 0, width, height);
+    }
+
+
+    @Benchmark
+    public void add3DEffekt() {
+        PlasticUtils.add3DEffekt(g2, rect);
+    }
+
+    @Benchmark
+    public void addLight3DEffektHorizontal() {
+        PlasticUtils.addLight3DEffekt(g2, rect, true);
+    }
+
+    @Benchmark
+    public void addLight3DEffektVertical() {
+        PlasticUtils.addLight3DEffekt(g2, rect, false);
+    }
+
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.ButtonModel;
+import javax.swing.Icon;
+import javax.swing.JCheckBox;
+import javax.swing.JRadioButton;
+import javax.swing.UnsupportedLookAndFeelException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the PlasticXP check box and radio button icons
+ * in the different button model states.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlasticXPIconFactoryBenchmark extends AbstractPlasticBenchmark {
+
+    /**
+     * The button model state used to paint the icons.
+     */
+    @Param({"plain", "selected", "pressed", "focused", "disabled"})
+    public String state;
+
+    private JCheckBox checkBox;
+    private JRadioButton radioButton;
+    private Icon checkBoxIcon;
+    private Icon radioButtonIcon;
+
+
+    @Setup
+    public void setUp() throws UnsupportedLookAndFeelException {
+        setUp(32, 32);
+        checkBox = new JCheckBox("Check");
+        radioButton = new JRadioButton("Radio");
+        configure(checkBox.getModel());
+        configure(radioButton.getModel());
+        checkBoxIcon = PlasticXPIconFactory.getCheckBoxIcon();
+        radioButtonIcon = PlasticXPIconFactory.getRadioButtonIcon();
+    }
+
+
+    private void configure(ButtonModel model) {
+        switch (state) {
+        case "selected":
+            model.setSelected(true);
+            break;
+        case "pressed":
+            model.setArmed(true);
+            model.setPressed(true);
+            break;
+        case "focused":
+            model.setArmed(true);
+            break;
+        case "disabled":
+            model.setSelected(true);
+            model.setEnabled(false);
+            break;
+        default:
+            break;
+        }
+    }
+
+
+    @Benchmark
+    public void paintCheckBoxIcon() {
+        checkBoxIcon.paintIcon(checkBox, g2, 0, 0);
+    }
+
+    @Benchmark
+    public void paintRadioButtonIcon() {
+        radioButtonIcon.paintIcon(radioButton, g2, 0, 0);
+    }
+
+
+}
@@ -30,6 +30,8 @@
 
 package com.jgoodies.looks;
 
+import static com.jgoodies.common.base.Preconditions.checkArgument;
+
 import java.awt.Dimension;
 
 import javax.swing.JTextField;
@@ -213,6 +215,28 @@ public final class Options {
         "jgoodies.popupDropShadowEnabled";
 
 
+    /**
+     * A UIDefaults key for the maximum number of hidden shadow popups
+     * that are kept for reuse.
+     *
+     * @see #getPopupCacheSize()
+     * @see #setPopupCacheSize(int)
+     *
+     * @since 2.9
+     */
+    public static final String POPUP_CACHE_SIZE_KEY =
+        "jgoodies.popupCacheSize";
+
+    /**
+     * The number of hidden shadow popups kept for reuse by default.
+     *
+     * @see #getPopupCacheSize()
+     *
+     * @since 2.9
+     */
+    public static final int DEFAULT_POPUP_CACHE_SIZE = 5;
+
+
     /**
      * A UIDefaults key for enabling/disabling the new high-resolution
      * gray filter globally. This setting can be overridden per component.
@@ -238,6 +262,25 @@ public final class Options {
         "JGoodies.selectAllOnFocusGain";
 
 
+    /**
+     * A system property key that enables the paint statistics that time
+     * the paint entry points of the JGoodies UI delegates and publish them
+     * via JMX. Unlike the other global options this one can be set only
+     * as a system property, because it is read once at class
+     * initialization time; if it is absent or false the instrumented
+     * paint methods cost a single static final check. Also enables
+     * the latency statistics of the shadow popups.
+     *
+     * @see #isPaintStatisticsEnabled()
+     * @see com.jgoodies.looks.common.PaintStatistics
+     * @see com.jgoodies.looks.common.PopupStatistics
+     *
+     * @since 2.9
+     */
+    public static final String PAINT_STATISTICS_ENABLED_KEY =
+        "jgoodies.paintStatisticsEnabled";
+
+
     // Optional Client Properties *********************************************
 
     /**
@@ -269,6 +312,22 @@ public final class Options {
      */
     public static final String NO_MARGIN_KEY = "JPopupMenu.noMargin";
 
+    /**
+     * A JPopupMenu client property key for the number of rows visible
+     * in a scrolling popup menu. If set to a positive Integer and
+     * the popup menu has more items, the Plastic popup menu
+     * shows scroll areas and lays out, measures and paints
+     * only the visible items. Intended for menus with
+     * hundreds or thousands of items.<p>
+     *
+     * For a JMenu set this property on the menu's popup menu.
+     *
+     * @see com.jgoodies.looks.common.PopupMenuLayout
+     * @since 2.9
+     */
+    public static final String POPUP_MENU_VISIBLE_ROW_COUNT_KEY =
+        "jgoodies.popupMenuVisibleRowCount";
+
     /**
      * A JTree client property key for a tree line style hint.
      *
@@ -468,6 +527,18 @@ public final class Options {
                 POPUP_DROP_SHADOW_ENABLED_KEY, "Popup drop shadows");
 
 
+    /**
+     * Holds the Boolean system property value for the paint statistics
+     * enablement, or null, if it has not been set. If this property has been
+     * set, we log a message about the chosen value.
+     *
+     * @see #isPaintStatisticsEnabled()
+     */
+    private static final Boolean PAINT_STATISTICS_ENABLED_SYSTEM_VALUE =
+        LookUtils.getBooleanSystemProperty(
+                PAINT_STATISTICS_ENABLED_KEY, "Paint statistics");
+
+
     // Private ****************************************************************
 
     private static final Dimension DEFAULT_ICON_SIZE =
@@ -730,6 +801,62 @@ public final class Options {
     }
 
 
+    /**
+     * Returns the maximum number of hidden shadow popups that are kept
+     * for reuse. Applications that show many popups at a time,
+     * for example cascading submenus, may benefit from a larger cache.
+     *
+     * @return the maximum number of shadow popups kept for reuse,
+     *     {@link #DEFAULT_POPUP_CACHE_SIZE} by default
+     *
+     * @see #setPopupCacheSize(int)
+     * @see #POPUP_CACHE_SIZE_KEY
+     *
+     * @since 2.9
+     */
+    public static int getPopupCacheSize() {
+        Object value = UIManager.get(POPUP_CACHE_SIZE_KEY);
+        return value instanceof Integer
+            ? ((Integer) value).intValue()
+            : DEFAULT_POPUP_CACHE_SIZE;
+    }
+
+    /**
+     * Sets the maximum number of hidden shadow popups that are kept
+     * for reuse. Popups already kept are not removed if the size shrinks.
+     *
+     * @param size   the maximum number of shadow popups kept for reuse
+     *
+     * @throws IllegalArgumentException if {@code size} is negative
+     *
+     * @see #getPopupCacheSize()
+     *
+     * @since 2.9
+     */
+    public static void setPopupCacheSize(int size) {
+        checkArgument(size >= 0, "The popup cache size must not be negative.");
+        UIManager.put(POPUP_CACHE_SIZE_KEY, Integer.valueOf(size));
+    }
+
+
+    /**
+     * Checks and answers whether the paint statistics have been enabled
+     * in the system properties. They are disabled by default and
+     * there's no setter, since the instrumented delegates read this
+     * value once into a static final field.
+     *
+     * @return true if the paint statistics are enabled, false if disabled
+     *
+     * @see #PAINT_STATISTICS_ENABLED_KEY
+     * @see com.jgoodies.looks.common.PaintStatistics
+     *
+     * @since 2.9
+     */
+    public static boolean isPaintStatisticsEnabled() {
+        return Boolean.TRUE.equals(PAINT_STATISTICS_ENABLED_SYSTEM_VALUE);
+    }
+
+
     /**
      * Checks and answers whether the global default for text fields
      * is to select all text on focus gain. The global default can be
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.event.KeyEvent;
+import java.awt.font.FontRenderContext;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.swing.KeyStroke;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+/**
+ * Holds the text rendered for a menu item accelerator and its widths
+ * for the few most recently used accelerator fonts. The texts are cached
+ * globally per KeyStroke, because building them requests the
+ * localized key texts from the Toolkit properties. The cache is
+ * cleared if the default Locale, the accelerator delimiter,
+ * or the look&amp;feel changes.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see MenuItemRenderer
+ *
+ * @since 2.9
+ */
+final class AcceleratorText {
+
+    /**
+     * The maximum number of accelerator texts cached.
+     */
+    static final int MAX_TEXTS = 1024;
+
+    /**
+     * The maximum number of widths kept per text; each for a font
+     * and font render context.
+     */
+    private static final int MAX_MEASUREMENTS = 4;
+
+    /**
+     * Maps KeyStrokes to their accelerator texts in least recently
+     * used order. Synchronized on itself.
+     */
+    private static final Map<KeyStroke, AcceleratorText> TEXTS =
+        new LinkedHashMap<KeyStroke, AcceleratorText>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<KeyStroke, AcceleratorText> eldest) {
+                if (size() <= MAX_TEXTS) {
+                    return false;
+                }
+                STATISTICS.recordEviction();
+                return true;
+            }
+        };
+
+    static final CacheStatistics STATISTICS = CacheStatistics.register(
+        new CacheStatistics("AcceleratorTexts", MAX_TEXTS) {
+            @Override
+            public int getSize() {
+                synchronized (TEXTS) {
+                    return TEXTS.size();
+                }
+            }
+        });
+
+    /**
+     * The Locale and delimiter the cached texts have been built with.
+     * Guarded by the lock on TEXTS.
+     */
+    private static Locale cachedLocale;
+    private static String cachedDelimiter;
+
+    static {
+        UIManager.addPropertyChangeListener(new PropertyChangeListener() {
+            @Override
+            public void propertyChange(PropertyChangeEvent evt) {
+                if ("lookAndFeel".equals(evt.getPropertyName())) {
+                    clear();
+                }
+            }
+        });
+    }
+
+    private final String text;
+
+    /**
+     * The widths measured per font and font render context,
+     * most recently measured first. Replaced, never modified.
+     */
+    private volatile Measurement[] measurements = new Measurement[0];
+
+
+    // Instance Creation ******************************************************
+
+    private AcceleratorText(String text) {
+        this.text = text;
+    }
+
+
+    /**
+     * Looks up and returns the accelerator text for the given KeyStroke,
+     * builds and caches it if necessary.
+     *
+     * @param accelerator   the menu item's accelerator, may be null
+     * @param delimiter     separates the modifiers from the key text
+     * @return the accelerator text, or null if there's no accelerator
+     */
+    static AcceleratorText get(KeyStroke accelerator, String delimiter) {
+        if (accelerator == null) {
+            return null;
+        }
+        synchronized (TEXTS) {
+            Locale locale = Locale.getDefault();
+            if (   !locale.equals(cachedLocale)
+                || !Objects.equals(delimiter, cachedDelimiter)) {
+                TEXTS.clear();
+                cachedLocale = locale;
+                cachedDelimiter = delimiter;
+            }
+            AcceleratorText result = TEXTS.get(accelerator);
+            if (result != null) {
+                STATISTICS.recordHit();
+                return result;
+            }
+            STATISTICS.recordMiss();
+            result = new AcceleratorText(buildText(accelerator, delimiter));
+            TEXTS.put(accelerator, result);
+            return result;
+        }
+    }
+
+
+    /**
+     * Removes all cached accelerator texts.
+     */
+    static void clear() {
+        synchronized (TEXTS) {
+            TEXTS.clear();
+        }
+    }
+
+
+    private static String buildText(KeyStroke accelerator, String delimiter) {
+        StringBuilder builder = new StringBuilder();
+        int modifiers = accelerator.getModifiers();
+        if (modifiers > 0) {
+            builder.append(KeyEvent.getKeyModifiersText(modifiers));
+            builder.append(delimiter);
+        }
+        int keyCode = accelerator.getKeyCode();
+        if (keyCode != 0) {
+            builder.append(KeyEvent.getKeyText(keyCode));
+        } else {
+            builder.append(accelerator.getKeyChar());
+        }
+        return builder.toString();
+    }
+
+
+    // Accessors **************************************************************
+
+    String getText() {
+        return text;
+    }
+
+
+    /**
+     * Returns the width of the text measured with the given metrics.
+     * Measures the text only if it hasn't been measured before with
+     * the metrics' font and font render context. Hence layout and paint
+     * share the width even if they use different FontMetrics instances.
+     *
+     * @param fm   the metrics of the accelerator font
+     * @return the width of the text
+     */
+    int getWidth(FontMetrics fm) {
+        Font font = fm.getFont();
+        FontRenderContext frc = fm.getFontRenderContext();
+        Measurement[] ms = measurements;
+        for (Measurement m : ms) {
+            if (m.matches(font, frc)) {
+                return m.width;
+            }
+        }
+        int width = SwingUtilities.computeStringWidth(fm, text);
+        Measurement[] newMs = new Measurement[Math.min(ms.length + 1, MAX_MEASUREMENTS)];
+        newMs[0] = new Measurement(font, frc, width);
+        System.arraycopy(ms, 0, newMs, 1, newMs.length - 1);
+        measurements = newMs;
+        return width;
+    }
+
+
+    // Helper Classes *********************************************************
+
+    private static final class Measurement {
+
+        final Font font;
+        final FontRenderContext frc;
+        final int width;
+
+        Measurement(Font font, FontRenderContext frc, int width) {
+            this.font = font;
+            this.frc = frc;
+            this.width = width;
+        }
+
+        boolean matches(Font aFont, FontRenderContext aFrc) {
+            return (font == aFont || font.equals(aFont))
+                && (frc == aFrc || frc.equals(aFrc));
+        }
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.jgoodies.looks.LookUtils;
+import com.jgoodies.looks.Options;
+
+/**
+ * Counts hits, misses and evictions of a cache used by the JGoodies L&amp;Fs.
+ * Subclasses provide the current cache size. Statistics are registered
+ * via {@link #register(CacheStatistics)} and can be requested via
+ * {@link #getAll()}. If the paint statistics are enabled, see
+ * {@link Options#PAINT_STATISTICS_ENABLED_KEY}, they are also published
+ * as JMX MXBeans named {@code com.jgoodies.looks:type=Cache,name=<name>}.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see CacheStatisticsMXBean
+ *
+ * @since 2.9
+ */
+public abstract class CacheStatistics implements CacheStatisticsMXBean {
+
+    private static final List<CacheStatistics> ALL = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final int capacity;
+    private final AtomicLong hits      = new AtomicLong();
+    private final AtomicLong misses    = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+
+    // Instance Creation ******************************************************
+
+    protected CacheStatistics(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+    }
+
+
+    /**
+     * Adds the given statistics to the list of all cache statistics
+     * and publishes them via JMX if the paint statistics are enabled.
+     *
+     * @param statistics   the statistics to register
+     * @return the registered statistics
+     */
+    public static <T extends CacheStatistics> T register(T statistics) {
+        ALL.add(statistics);
+        if (PaintStatistics.ENABLED) {
+            String objectName = "com.jgoodies.looks:type=Cache,name=" + statistics.getName();
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(
+                        statistics, new ObjectName(objectName));
+            } catch (JMException | SecurityException e) {
+                LookUtils.log("Can't publish the cache statistics: " + e);
+            }
+        }
+        return statistics;
+    }
+
+
+    /**
+     * Returns the statistics of all registered caches.
+     *
+     * @return the statistics of all registered caches
+     */
+    public static List<CacheStatisticsMXBean> getAll() {
+        return new ArrayList<CacheStatisticsMXBean>(ALL);
+    }
+
+
+    // Recording **************************************************************
+
+    public final void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public final void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public final void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+
+    // CacheStatisticsMXBean Implementation ***********************************
+
+    @Override
+    public final String getName() {
+        return name;
+    }
+
+    @Override
+    public final long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public final long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public final long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns the capacity passed to the constructor. Subclasses
+     * of caches with a configurable capacity return the current one.
+     */
+    @Override
+    public int getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public void reset() {
+        hits.set(0);
+        misses.set(0);
+        evictions.set(0);
+    }
+
+}
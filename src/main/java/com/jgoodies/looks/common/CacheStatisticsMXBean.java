@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+/**
+ * The JMX management interface for the {@link CacheStatistics}
+ * of the caches used by the JGoodies L&amp;Fs.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see CacheStatistics
+ *
+ * @since 2.9
+ */
+public interface CacheStatisticsMXBean {
+
+    /**
+     * Returns the name of the cache, for example "PlasticBumps".
+     *
+     * @return the cache name
+     */
+    String getName();
+
+
+    /**
+     * Returns the number of lookups that found a cached value.
+     *
+     * @return the number of cache hits
+     */
+    long getHits();
+
+
+    /**
+     * Returns the number of lookups that had to create a new value.
+     *
+     * @return the number of cache misses
+     */
+    long getMisses();
+
+
+    /**
+     * Returns the number of values removed from the cache because
+     * it reached its capacity or because their keys have been
+     * garbage collected.
+     *
+     * @return the number of evicted values
+     */
+    long getEvictions();
+
+
+    /**
+     * Returns the number of values currently held by the cache.
+     *
+     * @return the current cache size
+     */
+    int getSize();
+
+
+    /**
+     * Returns the maximum number of values held by the cache.
+     *
+     * @return the cache capacity
+     */
+    int getCapacity();
+
+
+    /**
+     * Resets the hit, miss and eviction counters.
+     */
+    void reset();
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.swing.AbstractButton;
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JMenu;
+
+/**
+ * Precomputes the disabled icons generated by the {@link RGBGrayFilter}
+ * in the background, so that disabling many components at once doesn't
+ * filter all their icons in the event dispatch thread. For example:
+ * <pre>
+ * List&lt;Icon&gt; icons = DisabledIconPrecomputer.collectIcons(menuBar);
+ * icons.addAll(DisabledIconPrecomputer.collectIcons(toolBar));
+ * DisabledIconPrecomputer.precompute(frame.getRootPane(), icons);
+ * </pre>
+ *
+ * Once computed, the disabled icons are kept until their source icon
+ * is garbage collected, and {@link RGBGrayFilter#getDisabledIcon(JComponent, Icon)}
+ * returns them without filtering again. Icons that are not ImageIcons
+ * are painted in the background thread and must support this.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see RGBGrayFilter
+ *
+ * @since 2.9
+ */
+public final class DisabledIconPrecomputer {
+
+    private DisabledIconPrecomputer() {
+        // Overrides default constructor; prevents instantiation.
+    }
+
+
+    // Collecting Icons *******************************************************
+
+    /**
+     * Collects the icons of all buttons and menu items in the given
+     * component tree, including the items of menus that are not visible.
+     * Each icon is contained once.
+     *
+     * @param root   the root of the component tree, e.g. a menu bar or tool bar
+     * @return a mutable list of the icons found
+     */
+    public static List<Icon> collectIcons(Component root) {
+        Set<Icon> icons = Collections.newSetFromMap(new IdentityHashMap<Icon, Boolean>());
+        collectIcons(root, icons);
+        return new ArrayList<Icon>(icons);
+    }
+
+
+    private static void collectIcons(Component c, Set<Icon> icons) {
+        if (c instanceof AbstractButton) {
+            AbstractButton button = (AbstractButton) c;
+            addIcon(button.getIcon(), icons);
+            addIcon(button.getSelectedIcon(), icons);
+        }
+        if (c instanceof JMenu) {
+            for (Component child : ((JMenu) c).getMenuComponents()) {
+                collectIcons(child, icons);
+            }
+        } else if (c instanceof Container) {
+            for (Component child : ((Container) c).getComponents()) {
+                collectIcons(child, icons);
+            }
+        }
+    }
+
+
+    private static void addIcon(Icon icon, Set<Icon> icons) {
+        if (icon != null) {
+            icons.add(icon);
+        }
+    }
+
+
+    // Precomputing Disabled Icons ********************************************
+
+    /**
+     * Precomputes the disabled icons for the given icons
+     * in a shared background thread.
+     *
+     * @param component  the component that will display the icons; used to
+     *     check the hi-res filter client property and to create images
+     * @param icons      the icons to precompute the disabled icons for
+     * @return a Future that is done when all disabled icons have been computed
+     *
+     * @throws NullPointerException if {@code component} or {@code icons} is {@code null}
+     */
+    public static Future<Void> precompute(JComponent component, Collection<? extends Icon> icons) {
+        return precompute(component, icons, DefaultExecutor.INSTANCE);
+    }
+
+
+    /**
+     * Precomputes the disabled icons for the given icons
+     * using the given executor.
+     *
+     * @param component  the component that will display the icons; used to
+     *     check the hi-res filter client property and to create images
+     * @param icons      the icons to precompute the disabled icons for
+     * @param executor   executes the precomputation
+     * @return a Future that is done when all disabled icons have been computed
+     *
+     * @throws NullPointerException if {@code component}, {@code icons},
+     *     or {@code executor} is {@code null}
+     */
+    public static Future<Void> precompute(
+            final JComponent component,
+            Collection<? extends Icon> icons,
+            ExecutorService executor) {
+        final boolean hiRes = RGBGrayFilter.isHiResEnabled(component);
+        final List<Icon> snapshot = new ArrayList<Icon>(icons);
+        return executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                for (Icon icon : snapshot) {
+                    if (icon != null) {
+                        RGBGrayFilter.precomputeDisabledIcon(component, icon, hiRes);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+
+    // Helper Code ************************************************************
+
+    /**
+     * Holds the executor used if none is provided; created on first use.
+     */
+    private static final class DefaultExecutor {
+
+        static final ExecutorService INSTANCE =
+            Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "JGoodies Disabled Icon Precomputer");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+    }
+
+}
@@ -39,7 +39,6 @@ import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Insets;
 import java.awt.Rectangle;
-import java.awt.event.KeyEvent;
 
 import javax.swing.ButtonModel;
 import javax.swing.Icon;
@@ -47,7 +46,6 @@ import javax.swing.JComponent;
 import javax.swing.JMenu;
 import javax.swing.JMenuItem;
 import javax.swing.JPopupMenu;
-import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.plaf.basic.BasicHTML;
@@ -57,7 +55,14 @@ import com.jgoodies.common.internal.RenderingUtils;
 import com.jgoodies.looks.Options;
 
 /**
- * Renders and lays out menu items.
+ * Renders and lays out menu items.<p>
+ *
+ * Since 2.9 the layout scratch rectangles and the icon wrappers
+ * are held per renderer, and the wrappers are reused as long as
+ * the wrapped icon and its size don't change. Hence computing
+ * the preferred size of a measured item doesn't allocate,
+ * and a menu that is not showing yet can be measured
+ * in a thread other than the event dispatch thread.
  *
  * @author  Karsten Lentzsch
  * @version $Revision: 1.14 $
@@ -73,21 +78,21 @@ public class MenuItemRenderer {
      */
     protected static final String HTML_KEY = BasicHTML.propertyKey;
 
-    /* Client Property keys for text and accelerator text widths */
-    static final String MAX_TEXT_WIDTH  = "maxTextWidth";
-	static final String MAX_ACC_WIDTH   = "maxAccWidth";
-
 	private static final Icon   NO_ICON = new NullIcon();
 
+    private static final PaintStatistics.Probe PAINT_PROBE =
+        PaintStatistics.createProbe("MenuItemRenderer.paintMenuItem");
+
 
-    static Rectangle zeroRect		= new Rectangle(0, 0, 0, 0);
-    static Rectangle iconRect		= new Rectangle();
-    static Rectangle textRect		= new Rectangle();
-    static Rectangle acceleratorRect= new Rectangle();
-    static Rectangle checkIconRect	= new Rectangle();
-    static Rectangle arrowIconRect	= new Rectangle();
-    static Rectangle viewRect		= new Rectangle(Short.MAX_VALUE, Short.MAX_VALUE);
-    static Rectangle r				= new Rectangle();
+    // Layout scratch state, confined to this renderer.
+    private final Rectangle iconRect		= new Rectangle();
+    private final Rectangle textRect		= new Rectangle();
+    private final Rectangle acceleratorRect	= new Rectangle();
+    private final Rectangle checkIconRect	= new Rectangle();
+    private final Rectangle arrowIconRect	= new Rectangle();
+    private final Rectangle viewRect		= new Rectangle(Short.MAX_VALUE, Short.MAX_VALUE);
+    private final Rectangle labelRect		= new Rectangle();
+    private final Rectangle r				= new Rectangle();
 
 
 	private final JMenuItem	menuItem;
@@ -99,7 +104,12 @@ public class MenuItemRenderer {
 	private final Color		acceleratorSelectionForeground;
 
 	private final String	acceleratorDelimiter;
-	private final Icon	  	fillerIcon;
+
+	// Reused icon wrappers, replaced if the wrapped icon
+	// or the default icon size changes.
+	private MinimumSizedIcon fillerIcon;
+	private MinimumSizedIcon iconWrapper;
+	private MinimumSizedIcon arrowIconWrapper;
 
 
 
@@ -162,113 +172,117 @@ public class MenuItemRenderer {
 	 * Answers the wrapped icon.
 	 */
 	private Icon getWrappedIcon(Icon icon) {
-		if (hideIcons()) {
+		return getWrappedIcon(icon, hideIcons());
+	}
+
+
+	/**
+	 * Answers the wrapped icon; uses the given flag to hide icons.
+	 */
+	private Icon getWrappedIcon(Icon icon, boolean hideIcons) {
+		if (hideIcons) {
             return NO_ICON;
         }
 		if (icon == null) {
-            return fillerIcon;
+            return getFillerIcon();
         }
-		return iconBorderEnabled && hasCustomIcon()
-			? new MinimumSizedCheckIcon(icon, menuItem)
-			: new MinimumSizedIcon(icon);
+		boolean checkIcon = iconBorderEnabled && hasCustomIcon();
+		MinimumSizedIcon wrapper = iconWrapper;
+		if (   wrapper == null
+			|| !wrapper.wraps(icon)
+			|| wrapper instanceof MinimumSizedCheckIcon != checkIcon) {
+			wrapper = checkIcon
+				? new MinimumSizedCheckIcon(icon, menuItem)
+				: new MinimumSizedIcon(icon);
+			iconWrapper = wrapper;
+		}
+		return wrapper;
 	}
 
 
-	private static void resetRects() {
-		iconRect.setBounds(zeroRect);
-		textRect.setBounds(zeroRect);
-		acceleratorRect.setBounds(zeroRect);
-		checkIconRect.setBounds(zeroRect);
-		arrowIconRect.setBounds(zeroRect);
-		viewRect.setBounds(0, 0, Short.MAX_VALUE, Short.MAX_VALUE);
-		r.setBounds(zeroRect);
+	/**
+	 * Answers the empty icon that has the current default icon size.
+	 */
+	private Icon getFillerIcon() {
+		if (!fillerIcon.wraps(null)) {
+			fillerIcon = new MinimumSizedIcon();
+		}
+		return fillerIcon;
 	}
 
 
-	public Dimension getPreferredMenuItemSize(JComponent c,
-		Icon checkIcon, Icon arrowIcon, int defaultTextIconGap) {
-
-		JMenuItem b = (JMenuItem) c;
-		String text = b.getText();
-		KeyStroke accelerator = b.getAccelerator();
-		String acceleratorText = "";
-
-		if (accelerator != null) {
-			int modifiers = accelerator.getModifiers();
-			if (modifiers > 0) {
-				acceleratorText = KeyEvent.getKeyModifiersText(modifiers);
-				acceleratorText += acceleratorDelimiter;
-			}
-			int keyCode = accelerator.getKeyCode();
-			if (keyCode != 0) {
-				acceleratorText += KeyEvent.getKeyText(keyCode);
-			} else {
-				acceleratorText += accelerator.getKeyChar();
-			}
+	/**
+	 * Answers the wrapped arrow icon.
+	 */
+	private Icon getWrappedArrowIcon(Icon arrowIcon) {
+		MinimumSizedIcon wrapper = arrowIconWrapper;
+		if (wrapper == null || !wrapper.wraps(arrowIcon)) {
+			wrapper = new MinimumSizedIcon(arrowIcon);
+			arrowIconWrapper = wrapper;
 		}
+		return wrapper;
+	}
 
-		Font font = b.getFont();
-		FontMetrics fm		= b.getFontMetrics(font);
-		FontMetrics fmAccel = b.getFontMetrics(acceleratorFont);
 
-		resetRects();
+	private void resetRects() {
+		iconRect.setBounds(0, 0, 0, 0);
+		textRect.setBounds(0, 0, 0, 0);
+		acceleratorRect.setBounds(0, 0, 0, 0);
+		checkIconRect.setBounds(0, 0, 0, 0);
+		arrowIconRect.setBounds(0, 0, 0, 0);
+		viewRect.setBounds(0, 0, Short.MAX_VALUE, Short.MAX_VALUE);
+		r.setBounds(0, 0, 0, 0);
+	}
 
-		Icon wrappedIcon = getWrappedIcon(getIcon(menuItem, checkIcon));
-        Icon wrappedArrowIcon = new MinimumSizedIcon(arrowIcon);
-        Icon icon = wrappedIcon.getIconHeight() > fillerIcon.getIconHeight()
-                    ? wrappedIcon
-                    : null;
 
-		layoutMenuItem(fm, text, fmAccel, acceleratorText,
-			//icon, checkIcon,
-            icon, wrappedIcon,
-			wrappedArrowIcon, //arrowIcon,
-			b.getVerticalAlignment(), b.getHorizontalAlignment(),
-			b.getVerticalTextPosition(), b.getHorizontalTextPosition(),
-			viewRect, iconRect, textRect, acceleratorRect, checkIconRect, arrowIconRect,
-			text == null ? 0 : defaultTextIconGap,
-			defaultTextIconGap);
-		// find the union of the icon and text rects
-		r.setBounds(textRect);
-		r = SwingUtilities.computeUnion(iconRect.x, iconRect.y, iconRect.width, iconRect.height, r);
-		//   r = iconRect.union(textRect);
+	public Dimension getPreferredMenuItemSize(JComponent c,
+		Icon checkIcon, Icon arrowIcon, int defaultTextIconGap) {
+
+		JMenuItem b = (JMenuItem) c;
+		AcceleratorText acceleratorText =
+		    AcceleratorText.get(b.getAccelerator(), acceleratorDelimiter);
+		Icon icon = getIcon(menuItem, checkIcon);
+		boolean hideIcons = hideIcons();
 
 		// To make the accelerator texts appear in a column, find the widest MenuItem text
 		// and the widest accelerator text.
 
-		//Get the parent, which stores the information.
+		//Get the parent, which tracks the widths.
 		Container parent = menuItem.getParent();
+		MenuItemWidths widths = null;
 
 		//Check the parent, and see that it is not a top-level menu.
 		if (parent != null
 			&& parent instanceof JComponent
 			&& !(menuItem instanceof JMenu && ((JMenu) menuItem).isTopLevelMenu())) {
-			JComponent p = (JComponent) parent;
-
-			//Get widest text so far from parent, if no one exists null is returned.
-			Integer maxTextWidth = (Integer) p.getClientProperty(MAX_TEXT_WIDTH);
-			Integer maxAccWidth  = (Integer) p.getClientProperty(MAX_ACC_WIDTH);
-
-			int maxTextValue = maxTextWidth != null ? maxTextWidth.intValue() : 0;
-			int maxAccValue  = maxAccWidth  != null ? maxAccWidth.intValue()  : 0;
+			widths = MenuItemWidths.getInstance((JComponent) parent);
+		}
 
-			//Compare the text widths, and adjust the r.width to the widest.
-			if (r.width < maxTextValue) {
-				r.width = maxTextValue;
-			} else {
-				p.putClientProperty(MAX_TEXT_WIDTH, new Integer(r.width));
+		// Reuse the measurement, if the item hasn't changed since.
+		MenuItemWidths.Measurement measurement = widths == null
+			? null
+			: widths.getMeasurement(b);
+		if (measurement == null
+			|| !measurement.matches(this, b, icon, acceleratorText, arrowIcon,
+					hideIcons, defaultTextIconGap)) {
+			measurement = measure(b, icon, acceleratorText, arrowIcon,
+					hideIcons, defaultTextIconGap);
+			if (widths != null) {
+				widths.putMeasurement(b, measurement);
 			}
+		}
 
-			//Compare the accelarator widths.
-			if (acceleratorRect.width > maxAccValue) {
-				maxAccValue = acceleratorRect.width;
-				p.putClientProperty(MAX_ACC_WIDTH, new Integer(acceleratorRect.width));
-			}
+		r.setBounds(0, 0, measurement.textWidth, measurement.height);
+		if (widths != null) {
+			//Adjust the r.width to the widest text.
+			r.width = Math.max(r.width, widths.getMaxTextWidth());
 
 			//Add on the widest accelerator
-			r.width += maxAccValue;
+			r.width += widths.getMaxAccWidth();
 			r.width += 10;
 		}
+		checkIconRect.width = measurement.checkIconWidth;
+		arrowIconRect.width = measurement.arrowIconWidth;
 
 		if (useCheckAndArrow()) {
 			// Add in the checkIcon
@@ -305,9 +319,51 @@ public class MenuItemRenderer {
 	}
 
 
+	/**
+	 * Lays out the given menu item in an unbounded view and returns
+	 * the resulting text and accelerator widths and the height.
+	 */
+	private MenuItemWidths.Measurement measure(JMenuItem b,
+		Icon icon, AcceleratorText acceleratorText, Icon arrowIcon,
+		boolean hideIcons, int defaultTextIconGap) {
+		String text = b.getText();
+		Font font = b.getFont();
+		FontMetrics fm		= b.getFontMetrics(font);
+		FontMetrics fmAccel = b.getFontMetrics(acceleratorFont);
+
+		resetRects();
+
+		Icon wrappedIcon = getWrappedIcon(icon, hideIcons);
+        Icon wrappedArrowIcon = getWrappedArrowIcon(arrowIcon);
+        Icon layoutIcon = wrappedIcon.getIconHeight() > getFillerIcon().getIconHeight()
+                    ? wrappedIcon
+                    : null;
+
+		layoutMenuItem(fm, text, fmAccel, acceleratorText,
+			//icon, checkIcon,
+            layoutIcon, wrappedIcon,
+			wrappedArrowIcon, //arrowIcon,
+			b.getVerticalAlignment(), b.getHorizontalAlignment(),
+			b.getVerticalTextPosition(), b.getHorizontalTextPosition(),
+			viewRect, iconRect, textRect, acceleratorRect, checkIconRect, arrowIconRect,
+			text == null ? 0 : defaultTextIconGap,
+			defaultTextIconGap);
+		// find the union of the icon and text rects
+		r.setBounds(textRect);
+		SwingUtilities.computeUnion(iconRect.x, iconRect.y, iconRect.width, iconRect.height, r);
+		//   r = iconRect.union(textRect);
+
+		return new MenuItemWidths.Measurement(this, b,
+			icon, acceleratorText, arrowIcon, hideIcons, defaultTextIconGap,
+			r.width, r.height, acceleratorRect.width,
+			checkIconRect.width, arrowIconRect.width);
+	}
+
+
 	public void paintMenuItem(Graphics g, JComponent c,
 		Icon checkIcon, Icon arrowIcon,
 		Color background, Color foreground, int defaultTextIconGap) {
+		long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
 		JMenuItem b = (JMenuItem) c;
 		ButtonModel model = b.getModel();
 
@@ -332,28 +388,14 @@ public class MenuItemRenderer {
 		FontMetrics fmAccel = g.getFontMetrics(acceleratorFont);
 
 		// get Accelerator text
-		KeyStroke accelerator = b.getAccelerator();
-		String acceleratorText = "";
-		if (accelerator != null) {
-			int modifiers = accelerator.getModifiers();
-			if (modifiers > 0) {
-				acceleratorText = KeyEvent.getKeyModifiersText(modifiers);
-				acceleratorText += acceleratorDelimiter;
-			}
-
-			int keyCode = accelerator.getKeyCode();
-			if (keyCode != 0) {
-				acceleratorText += KeyEvent.getKeyText(keyCode);
-			} else {
-				acceleratorText += accelerator.getKeyChar();
-			}
-		}
+		AcceleratorText accelerator =
+		    AcceleratorText.get(b.getAccelerator(), acceleratorDelimiter);
 
 		Icon wrappedIcon = getWrappedIcon(getIcon(menuItem, checkIcon));
-		Icon wrappedArrowIcon = new MinimumSizedIcon(arrowIcon);
+		Icon wrappedArrowIcon = getWrappedArrowIcon(arrowIcon);
 
 		// layout the text and icon
-		String text = layoutMenuItem(fm, b.getText(), fmAccel, acceleratorText,
+		String text = layoutMenuItem(fm, b.getText(), fmAccel, accelerator,
 				// b.getIcon(), checkIcon,
 				null, wrappedIcon,
 				wrappedArrowIcon, //arrowIcon,
@@ -386,6 +428,7 @@ public class MenuItemRenderer {
 		}
 
 		// Draw the Accelerator Text
+		String acceleratorText = accelerator == null ? "" : accelerator.getText();
 		if (!acceleratorText.equals("")) {
 
 			//Get the maxAccWidth from the parent to calculate the offset.
@@ -393,8 +436,8 @@ public class MenuItemRenderer {
 			Container parent = menuItem.getParent();
 			if (parent != null && parent instanceof JComponent) {
 				JComponent p = (JComponent) parent;
-				Integer maxValueInt = (Integer) p.getClientProperty(MAX_ACC_WIDTH);
-				int maxValue = maxValueInt != null ? maxValueInt.intValue() : acceleratorRect.width;
+				MenuItemWidths widths = MenuItemWidths.getInstanceIfPresent(p);
+				int maxValue = widths != null ? widths.getMaxAccWidth() : acceleratorRect.width;
 
 				//Calculate the offset, with which the accelerator texts will be drawn with.
                 accOffset = isLeftToRight(menuItem)
@@ -444,6 +487,9 @@ public class MenuItemRenderer {
 		}
 		g.setColor(holdc);
 		g.setFont(holdf);
+		if (PaintStatistics.ENABLED) {
+			PAINT_PROBE.record(start);
+		}
 	}
 
     /**
@@ -453,7 +499,7 @@ public class MenuItemRenderer {
      * relative to the viewRect rectangle.
      */
 	private String layoutMenuItem(FontMetrics fm, String text,
-		FontMetrics fmAccel, String acceleratorText,
+		FontMetrics fmAccel, AcceleratorText acceleratorText,
 		Icon icon, Icon checkIcon, Icon arrowIcon,
 		int verticalAlignment, int horizontalAlignment,
 		int verticalTextPosition, int horizontalTextPosition,
@@ -472,14 +518,13 @@ public class MenuItemRenderer {
 			viewRectangle, iconRectangle, textRectangle, textIconGap);
 
 		/* Initialize the acceleratorText bounds rectangle textRect.  If a null
-		 * or and empty String was specified we substitute "" here
-		 * and use 0,0,0,0 for acceleratorTextRect.
+		 * or and empty text was specified we use 0,0,0,0 for acceleratorTextRect.
+		 * The text width is cached per accelerator and font metrics.
 		 */
-		if (acceleratorText == null || acceleratorText.equals("")) {
+		if (acceleratorText == null || acceleratorText.getText().equals("")) {
 			acceleratorRectangle.width = acceleratorRectangle.height = 0;
-			acceleratorText = "";
 		} else {
-			acceleratorRectangle.width  = SwingUtilities.computeStringWidth(fmAccel, acceleratorText);
+			acceleratorRectangle.width  = acceleratorText.getWidth(fmAccel);
 			acceleratorRectangle.height = fmAccel.getHeight();
 		}
 
@@ -505,7 +550,9 @@ public class MenuItemRenderer {
 			}
 		}
 
-		Rectangle labelRect = iconRectangle.union(textRectangle);
+		labelRect.setBounds(textRectangle);
+		SwingUtilities.computeUnion(iconRectangle.x, iconRectangle.y,
+			iconRectangle.width, iconRectangle.height, labelRect);
 		if (isLeftToRight(menuItem)) {
 			textRectangle.x += menuItemGap;
 			iconRectangle.x += menuItemGap;
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.event.ContainerEvent;
+import java.awt.event.ContainerListener;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import javax.swing.Icon;
+import javax.swing.JComponent;
+import javax.swing.JMenuItem;
+
+import com.jgoodies.looks.Options;
+
+/**
+ * Tracks the text and accelerator widths of the menu items in a menu
+ * container, typically a JPopupMenu, so that the accelerator texts
+ * can be aligned in a column. Holds the measurements per menu item
+ * together with the values they depend on, and updates the maximum
+ * widths incrementally when items are measured, changed, or removed.
+ * Hence adding or changing one item doesn't re-measure the others.
+ * Only visible items contribute to the maximum widths, as only these
+ * are measured by the BoxLayout. Since the visibility of an item can
+ * change without notice, the maxima are re-computed from the stored
+ * measurements after the container's layout has been invalidated,
+ * see {@link #invalidateMaxima()}.<p>
+ *
+ * A tracker is stored as client property of its container and listens
+ * to the removal of children. Used by the {@link MenuItemRenderer}.
+ * Not thread-safe: a menu is measured by one thread at a time,
+ * typically the event dispatch thread.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see MenuItemRenderer
+ * @see PopupMenuLayout
+ *
+ * @since 2.9
+ */
+final class MenuItemWidths implements ContainerListener {
+
+    /**
+     * The client property key for the tracker of a menu container.
+     */
+    private static final String CLIENT_KEY = "jgoodies.menuItemWidths";
+
+    private final Map<Component, Measurement> measurements = new IdentityHashMap<>();
+
+    private int maxTextWidth;
+    private int maxAccWidth;
+
+    /**
+     * Indicates whether the maxima must be re-computed from the stored
+     * measurements, because an item may have been hidden or shown.
+     */
+    private boolean maximaInvalid;
+
+
+    // Instance Creation ******************************************************
+
+    private MenuItemWidths() {
+        // Instances are created and stored by #getInstance.
+    }
+
+
+    /**
+     * Returns the tracker for the given menu container,
+     * creates and stores it if necessary.
+     *
+     * @param container   the container of the menu items
+     * @return the container's tracker
+     */
+    static MenuItemWidths getInstance(JComponent container) {
+        MenuItemWidths widths = (MenuItemWidths) container.getClientProperty(CLIENT_KEY);
+        if (widths == null) {
+            widths = new MenuItemWidths();
+            container.putClientProperty(CLIENT_KEY, widths);
+            container.addContainerListener(widths);
+        }
+        return widths;
+    }
+
+
+    /**
+     * Returns the tracker for the given menu container if one exists.
+     *
+     * @param container   the container of the menu items
+     * @return the container's tracker, or null if none has been created yet
+     */
+    static MenuItemWidths getInstanceIfPresent(JComponent container) {
+        return (MenuItemWidths) container.getClientProperty(CLIENT_KEY);
+    }
+
+
+    // Accessing Measurements *************************************************
+
+    int getMaxTextWidth() {
+        validateMaxima();
+        return maxTextWidth;
+    }
+
+    int getMaxAccWidth() {
+        validateMaxima();
+        return maxAccWidth;
+    }
+
+
+    /**
+     * Marks the maximum widths as invalid, so that they are re-computed
+     * from the stored measurements of the visible items the next time
+     * they are requested. Invoked if the container's layout has been
+     * invalidated, for example because an item has been hidden or shown.
+     * Doesn't discard the measurements.
+     */
+    void invalidateMaxima() {
+        maximaInvalid = true;
+    }
+
+
+    /**
+     * Returns the measurement of the given item, or null
+     * if the item hasn't been measured before.
+     */
+    Measurement getMeasurement(JMenuItem item) {
+        return measurements.get(item);
+    }
+
+
+    /**
+     * Stores the new measurement for the given item and updates
+     * the maximum widths. Re-computes the maxima from the stored
+     * measurements if the item has determined a maximum and shrunk,
+     * or if the item is invisible.
+     */
+    void putMeasurement(JMenuItem item, Measurement measurement) {
+        Measurement old = measurements.put(item, measurement);
+        if (maximaInvalid) {
+            return;
+        }
+        if (!item.isVisible()
+            || old != null && (   old.textWidth == maxTextWidth && measurement.textWidth < maxTextWidth
+                               || old.accWidth  == maxAccWidth  && measurement.accWidth  < maxAccWidth)) {
+            computeMaxima();
+        } else {
+            maxTextWidth = Math.max(maxTextWidth, measurement.textWidth);
+            maxAccWidth  = Math.max(maxAccWidth,  measurement.accWidth);
+        }
+    }
+
+
+    private void validateMaxima() {
+        if (maximaInvalid) {
+            computeMaxima();
+        }
+    }
+
+
+    private void computeMaxima() {
+        maxTextWidth = 0;
+        maxAccWidth  = 0;
+        for (Map.Entry<Component, Measurement> entry : measurements.entrySet()) {
+            if (!entry.getKey().isVisible()) {
+                continue;
+            }
+            Measurement measurement = entry.getValue();
+            maxTextWidth = Math.max(maxTextWidth, measurement.textWidth);
+            maxAccWidth  = Math.max(maxAccWidth,  measurement.accWidth);
+        }
+        maximaInvalid = false;
+    }
+
+
+    // ContainerListener Implementation ***************************************
+
+    @Override
+    public void componentAdded(ContainerEvent e) {
+        // New items are measured when their preferred size is requested.
+    }
+
+
+    @Override
+    public void componentRemoved(ContainerEvent e) {
+        Measurement old = measurements.remove(e.getChild());
+        if (!maximaInvalid && old != null && (old.textWidth == maxTextWidth || old.accWidth == maxAccWidth)) {
+            computeMaxima();
+        }
+    }
+
+
+    // Helper Classes *********************************************************
+
+    /**
+     * Holds the widths and height measured for a menu item together
+     * with the values the measurement depends on.
+     */
+    static final class Measurement {
+
+        private final MenuItemRenderer renderer;
+        private final String text;
+        private final Font font;
+        private final Icon icon;
+        private final AcceleratorText acceleratorText;
+        private final Object htmlView;
+        private final Icon arrowIcon;
+        private final int iconSize;
+        private final int arrowIconSize;
+        private final int defaultIconSize;
+        private final boolean hideIcons;
+        private final boolean leftToRight;
+        private final int textIconGap;
+        private final int alignments;
+
+        final int textWidth;
+        final int height;
+        final int accWidth;
+        final int checkIconWidth;
+        final int arrowIconWidth;
+
+        Measurement(MenuItemRenderer renderer, JMenuItem item,
+                Icon icon, AcceleratorText acceleratorText, Icon arrowIcon,
+                boolean hideIcons, int textIconGap,
+                int textWidth, int height, int accWidth,
+                int checkIconWidth, int arrowIconWidth) {
+            this.renderer = renderer;
+            this.text = item.getText();
+            this.font = item.getFont();
+            this.icon = icon;
+            this.acceleratorText = acceleratorText;
+            this.htmlView = item.getClientProperty(MenuItemRenderer.HTML_KEY);
+            this.arrowIcon = arrowIcon;
+            this.iconSize = size(icon);
+            this.arrowIconSize = size(arrowIcon);
+            this.defaultIconSize = defaultIconSize();
+            this.hideIcons = hideIcons;
+            this.leftToRight = item.getComponentOrientation().isLeftToRight();
+            this.textIconGap = textIconGap;
+            this.alignments = alignments(item);
+            this.textWidth = textWidth;
+            this.height = height;
+            this.accWidth = accWidth;
+            this.checkIconWidth = checkIconWidth;
+            this.arrowIconWidth = arrowIconWidth;
+        }
+
+        /**
+         * Checks and answers whether this measurement is still valid
+         * for the given item and values. Icons may change their size
+         * in place, for example an ImageIcon with a new image;
+         * hence compares the icon sizes too.
+         */
+        boolean matches(MenuItemRenderer aRenderer, JMenuItem item,
+                Icon anIcon, AcceleratorText anAcceleratorText, Icon anArrowIcon,
+                boolean hideIconsFlag, int aTextIconGap) {
+            return renderer == aRenderer
+                && icon == anIcon
+                && acceleratorText == anAcceleratorText
+                && arrowIcon == anArrowIcon
+                && iconSize == size(anIcon)
+                && arrowIconSize == size(anArrowIcon)
+                && defaultIconSize == defaultIconSize()
+                && hideIcons == hideIconsFlag
+                && textIconGap == aTextIconGap
+                && text == item.getText()
+                && font == item.getFont()
+                && htmlView == item.getClientProperty(MenuItemRenderer.HTML_KEY)
+                && leftToRight == item.getComponentOrientation().isLeftToRight()
+                && alignments == alignments(item);
+        }
+
+        private static int size(Icon icon) {
+            return icon == null
+                ? 0
+                : icon.getIconWidth() << 16 | icon.getIconHeight() & 0xFFFF;
+        }
+
+        private static int defaultIconSize() {
+            Dimension size = Options.getDefaultIconSize();
+            return size.width << 16 | size.height & 0xFFFF;
+        }
+
+        private static int alignments(JMenuItem item) {
+            return item.getVerticalAlignment()
+                 | item.getHorizontalAlignment()     << 8
+                 | item.getVerticalTextPosition()    << 16
+                 | item.getHorizontalTextPosition()  << 24;
+        }
+    }
+
+}
@@ -49,6 +49,10 @@ import com.jgoodies.looks.Options;
 public class MinimumSizedIcon implements Icon {
 
 	private final Icon icon;
+	private final int  iconWidth;
+	private final int  iconHeight;
+	private final int  minimumWidth;
+	private final int  minimumHeight;
 	private final int  width;
 	private final int  height;
 	private final int  xOffset;
@@ -62,10 +66,12 @@ public class MinimumSizedIcon implements Icon {
 	public MinimumSizedIcon(Icon icon) {
 		Dimension minimumSize = Options.getDefaultIconSize();
 		this.icon      = icon;
-		int iconWidth  = icon == null ? 0 : icon.getIconWidth();
-		int iconHeight = icon == null ? 0 : icon.getIconHeight();
-		width   = Math.max(iconWidth,  Math.max(20, minimumSize.width));
-		height  = Math.max(iconHeight, Math.max(20, minimumSize.height));
+		iconWidth      = icon == null ? 0 : icon.getIconWidth();
+		iconHeight     = icon == null ? 0 : icon.getIconHeight();
+		minimumWidth   = minimumSize.width;
+		minimumHeight  = minimumSize.height;
+		width   = Math.max(iconWidth,  Math.max(20, minimumWidth));
+		height  = Math.max(iconHeight, Math.max(20, minimumHeight));
 		xOffset = Math.max(0, (width  - iconWidth)  / 2);
 		yOffset = Math.max(0, (height - iconHeight) / 2);
 	}
@@ -77,6 +83,29 @@ public class MinimumSizedIcon implements Icon {
 	public int getIconWidth()	{  return width;	}
 
 
+	/**
+	 * Checks and answers whether this icon wraps the given icon
+	 * with the icon's current size and the current default icon size.
+	 * Used to reuse wrappers.
+	 *
+	 * @param anIcon   the icon to check
+	 * @return true if this icon can be used as wrapper for the given icon
+	 *
+	 * @since 2.9
+	 */
+	boolean wraps(Icon anIcon) {
+		if (icon != anIcon) {
+			return false;
+		}
+		Dimension minimumSize = Options.getDefaultIconSize();
+		return minimumWidth  == minimumSize.width
+			&& minimumHeight == minimumSize.height
+			&& (icon == null
+				|| iconWidth  == icon.getIconWidth()
+				&& iconHeight == icon.getIconHeight());
+	}
+
+
 	@Override
 	public void paintIcon(Component c, Graphics g, int x, int y) {
 		if (icon != null) {
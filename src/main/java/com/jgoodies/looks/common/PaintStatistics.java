@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import com.jgoodies.looks.LookUtils;
+import com.jgoodies.looks.Options;
+
+/**
+ * Counts calls and accumulates paint times for the paint entry points
+ * of the JGoodies UI delegates and publishes them as a JMX MXBean
+ * under {@link #OBJECT_NAME}.<p>
+ *
+ * The statistics are disabled by default and can be enabled only by
+ * setting the system property {@link Options#PAINT_STATISTICS_ENABLED_KEY}
+ * to {@code true}. Instrumented methods guard their timing code with
+ * the static final {@link #ENABLED} flag, which the JIT folds away
+ * if the statistics are off:<pre>
+ * private static final PaintStatistics.Probe PAINT_PROBE =
+ *     PaintStatistics.createProbe("MyUI.paint");
+ *
+ * public void paint(Graphics g, JComponent c) {
+ *     long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
+ *     ...
+ *     if (PaintStatistics.ENABLED) {
+ *         PAINT_PROBE.record(start);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PaintStatisticsMXBean
+ *
+ * @since 2.9
+ */
+public final class PaintStatistics {
+
+    /**
+     * Indicates whether the paint statistics are enabled.
+     * Read once from the system properties.
+     *
+     * @see Options#isPaintStatisticsEnabled()
+     */
+    public static final boolean ENABLED = Options.isPaintStatisticsEnabled();
+
+    /**
+     * The name the MXBean is registered under in the platform MBean server.
+     */
+    public static final String OBJECT_NAME =
+        "com.jgoodies.looks:type=PaintStatistics";
+
+    /**
+     * The number of histogram buckets. Bucket 0 counts paints that took
+     * less than 1 microsecond; bucket i counts paints that took less
+     * than 2<sup>i</sup> microseconds; the last bucket counts the rest.
+     */
+    public static final int BUCKET_COUNT = 16;
+
+    private static final List<Probe> PROBES = new CopyOnWriteArrayList<>();
+
+    private static final Statistics STATISTICS = new Statistics(PROBES);
+
+    static {
+        if (ENABLED) {
+            registerMXBean(STATISTICS, OBJECT_NAME, "Paint statistics");
+        }
+    }
+
+
+    private PaintStatistics() {
+        // Overrides default constructor; prevents instantiation.
+    }
+
+
+    // API ********************************************************************
+
+    /**
+     * Creates and registers a probe for the named paint entry point.
+     * Probes are intended to be held in static final fields
+     * of the instrumented classes.
+     *
+     * @param name   the entry point name, e.g. "PlasticButtonUI.update"
+     * @return the new probe
+     */
+    public static Probe createProbe(String name) {
+        Probe probe = new Probe(name);
+        PROBES.add(probe);
+        return probe;
+    }
+
+
+    /**
+     * Returns the statistics for all probes, for example to log
+     * them in environments where JMX is not available.
+     *
+     * @return the statistics of all probes
+     */
+    public static PaintStatisticsMXBean getStatistics() {
+        return STATISTICS;
+    }
+
+
+    // Helper Code ************************************************************
+
+    /**
+     * Registers the given MXBean in the platform MBean server.
+     *
+     * @param mxBean       the MXBean to register
+     * @param objectName   the name to register the MXBean under
+     * @param description  describes the MXBean in log messages
+     */
+    static void registerMXBean(Object mxBean, String objectName, String description) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    mxBean, new ObjectName(objectName));
+            LookUtils.log(description + " published as " + objectName);
+        } catch (JMException | SecurityException e) {
+            LookUtils.log("Can't publish the " + description.toLowerCase() + ": " + e);
+        }
+    }
+
+
+    static int bucketIndex(long nanos) {
+        long micros = nanos / 1000;
+        int index = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+
+    // Helper Classes *********************************************************
+
+    /**
+     * Collects the call count, total and maximum time and the
+     * latency histogram for a single paint entry point.
+     * Probes are thread-safe, though painting happens on the EDT.
+     * Also used by the {@link PopupStatistics}.
+     */
+    public static final class Probe {
+
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKET_COUNT);
+
+        Probe(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Records a call that started at the given time.
+         *
+         * @param startNanos  the {@link System#nanoTime()} at the start of the call
+         */
+        public void record(long startNanos) {
+            long elapsed = System.nanoTime() - startNanos;
+            count.incrementAndGet();
+            totalNanos.addAndGet(elapsed);
+            histogram.incrementAndGet(bucketIndex(elapsed));
+            long max;
+            do {
+                max = maxNanos.get();
+            } while (elapsed > max && !maxNanos.compareAndSet(max, elapsed));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long[] getHistogram() {
+            long[] result = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                result[i] = histogram.get(i);
+            }
+            return result;
+        }
+
+        void reset() {
+            count.set(0);
+            totalNanos.set(0);
+            maxNanos.set(0);
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                histogram.set(i, 0);
+            }
+        }
+
+    }
+
+
+    /**
+     * Provides the statistics of a list of probes.
+     */
+    static class Statistics implements PaintStatisticsMXBean {
+
+        private final List<Probe> probes;
+
+        Statistics(List<Probe> probes) {
+            this.probes = probes;
+        }
+
+        @Override
+        public Map<String, Long> getCallCounts() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Probe probe : probes) {
+                result.put(probe.getName(), Long.valueOf(probe.getCount()));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getTotalNanos() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Probe probe : probes) {
+                result.put(probe.getName(), Long.valueOf(probe.getTotalNanos()));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, Long> getMaxNanos() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Probe probe : probes) {
+                result.put(probe.getName(), Long.valueOf(probe.getMaxNanos()));
+            }
+            return result;
+        }
+
+        @Override
+        public Map<String, long[]> getHistograms() {
+            Map<String, long[]> result = new LinkedHashMap<>();
+            for (Probe probe : probes) {
+                result.put(probe.getName(), probe.getHistogram());
+            }
+            return result;
+        }
+
+        @Override
+        public String[] getHistogramBucketLabels() {
+            String[] labels = new String[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT - 1; i++) {
+                labels[i] = "<" + (1 << i) + "us";
+            }
+            labels[BUCKET_COUNT - 1] = ">=" + (1 << (BUCKET_COUNT - 2)) + "us";
+            return labels;
+        }
+
+        @Override
+        public void reset() {
+            for (Probe probe : probes) {
+                probe.reset();
+            }
+        }
+
+    }
+
+}
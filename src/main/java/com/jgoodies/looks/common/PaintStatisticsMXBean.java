@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.util.Map;
+
+/**
+ * The JMX management interface for the {@link PaintStatistics}.
+ * Each map is keyed by the name of an instrumented paint entry point,
+ * for example {@code "PlasticButtonUI.update"}.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PaintStatistics
+ *
+ * @since 2.9
+ */
+public interface PaintStatisticsMXBean {
+
+    /**
+     * Returns the number of recorded calls per entry point.
+     *
+     * @return a map from entry point name to call count
+     */
+    Map<String, Long> getCallCounts();
+
+
+    /**
+     * Returns the accumulated paint time in nanoseconds per entry point.
+     *
+     * @return a map from entry point name to total nanoseconds
+     */
+    Map<String, Long> getTotalNanos();
+
+
+    /**
+     * Returns the longest recorded paint time in nanoseconds
+     * per entry point.
+     *
+     * @return a map from entry point name to maximum nanoseconds
+     */
+    Map<String, Long> getMaxNanos();
+
+
+    /**
+     * Returns the latency histogram per entry point. The array
+     * elements are the counts for the buckets described by
+     * {@link #getHistogramBucketLabels()}.
+     *
+     * @return a map from entry point name to bucket counts
+     */
+    Map<String, long[]> getHistograms();
+
+
+    /**
+     * Returns the human readable upper bounds of the histogram buckets.
+     *
+     * @return the bucket labels, for example "&lt;1us", "&lt;2us", "&lt;4us"
+     */
+    String[] getHistogramBucketLabels();
+
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+
+}
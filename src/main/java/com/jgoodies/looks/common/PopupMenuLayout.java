@@ -30,25 +30,69 @@
 
 package com.jgoodies.looks.common;
 
+import java.awt.Component;
 import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Insets;
 
 import javax.swing.BoxLayout;
-import javax.swing.JPopupMenu;
+import javax.swing.JComponent;
 import javax.swing.plaf.UIResource;
 
+import com.jgoodies.looks.Options;
+
 
 /**
  * The JGoodies implementation of a layout manager for Popup menus.
- * In comparison to the JDK's implementation it flushes the values of the client
- * properties {@code maxTextWidth} and {@code maxAccWidth} in
- * the method {@link #invalidateLayout(Container)} and not in the method
- * {@link #preferredLayoutSize(Container)}.
+ * In comparison to the JDK's implementation it doesn't flush the maximum
+ * text and accelerator widths in {@link #preferredLayoutSize(Container)}.
+ * Since 2.9 these widths are tracked incrementally per menu item,
+ * so {@link #invalidateLayout(Container)} doesn't flush the item
+ * measurements either; it just re-computes the maxima from them.<p>
+ *
+ * Since 2.9 this layout also provides a scrolling mode for popup menus
+ * with many items. If the target's client property
+ * {@link Options#POPUP_MENU_VISIBLE_ROW_COUNT_KEY} is set to a positive
+ * Integer, and the target has more visible components than that,
+ * only a window of visible items is measured and laid out. All other
+ * items get empty bounds, and so they are neither painted nor hit
+ * by the mouse; invisible items are skipped as in the BoxLayout.
+ * The space above and below the visible items is reserved for
+ * scroll areas that are painted and handled by the popup menu UI.
+ * The preferred width is the widest item measured since the scroll
+ * position has been reset. If it grows while scrolling, the popup menu
+ * UI re-packs the popup menu.
  *
  * @author Karsten Lentzsch
  * @version $Revision: 1.8 $
  */
 public final class PopupMenuLayout extends BoxLayout implements UIResource {
 
+    /**
+     * The height of the scroll areas above and below the visible items
+     * in scrolling mode.
+     *
+     * @since 2.9
+     */
+    public static final int SCROLL_AREA_HEIGHT = 12;
+
+    /**
+     * Index of the first visible item in scrolling mode.
+     */
+    private int firstVisibleIndex;
+
+    /**
+     * Index after the last visible item as of the last layout
+     * in scrolling mode.
+     */
+    private int visibleEnd;
+
+    /**
+     * The widest preferred item width measured in scrolling mode
+     * since the scroll position has been reset.
+     */
+    private int scrollingWidth;
+
 
     /**
      * Creates a layout manager that will lay out components along
@@ -63,22 +107,367 @@ public final class PopupMenuLayout extends BoxLayout implements UIResource {
 
 
     /**
-     * Indicates that a child has changed its layout related information,
-     * and thus any cached calculations should be flushed.
-     * <p>
-     * In case the target is an instance of JPopupMenu it flushes the values of
-     * the client properties {@code maxTextWidth} and {@code maxAccWidth}.
+     * Returns the preferred dimensions for this layout, given the components
+     * in the specified target container.<p>
+     *
+     * If the maximum text or accelerator width has shrunk while the items
+     * have been measured, items measured before have used the former
+     * maximum. In this case the preferred size is requested again,
+     * which reuses the item measurements.<p>
+     *
+     * In scrolling mode only the visible items are measured.
+     *
+     * @param target  the container that needs to be laid out
+     * @return the dimensions &gt;= 0 &amp;&amp; &lt;= Integer.MAX_VALUE
+     */
+    @Override
+    public synchronized Dimension preferredLayoutSize(Container target) {
+        if (isScrolling(target)) {
+            return scrollingLayoutSize(target);
+        }
+        MenuItemWidths widths = target instanceof JComponent
+            ? MenuItemWidths.getInstanceIfPresent((JComponent) target)
+            : null;
+        if (widths == null) {
+            return super.preferredLayoutSize(target);
+        }
+        int oldMaxTextWidth = widths.getMaxTextWidth();
+        int oldMaxAccWidth  = widths.getMaxAccWidth();
+        Dimension size = super.preferredLayoutSize(target);
+        if (   widths.getMaxTextWidth() < oldMaxTextWidth
+            || widths.getMaxAccWidth()  < oldMaxAccWidth) {
+            super.invalidateLayout(target);
+            size = super.preferredLayoutSize(target);
+        }
+        return size;
+    }
+
+
+    /**
+     * Invalidates the layout and the maximum text and accelerator widths,
+     * because an item may have been hidden or shown. The next request
+     * re-computes the maxima from the item measurements, which are kept.
      *
-     * @param target  the affected container
+     * @param target  the container that needs to be laid out
      */
     @Override
     public synchronized void invalidateLayout(Container target) {
-        if (target instanceof JPopupMenu) {
-            JPopupMenu menu = (JPopupMenu) target;
-            menu.putClientProperty(MenuItemRenderer.MAX_TEXT_WIDTH, null);
-            menu.putClientProperty(MenuItemRenderer.MAX_ACC_WIDTH,  null);
-        }
         super.invalidateLayout(target);
+        MenuItemWidths widths = target instanceof JComponent
+            ? MenuItemWidths.getInstanceIfPresent((JComponent) target)
+            : null;
+        if (widths != null) {
+            widths.invalidateMaxima();
+        }
+    }
+
+
+    /**
+     * Returns the minimum dimensions needed to lay out the components
+     * contained in the specified target container. In scrolling mode
+     * this is the preferred size.
+     *
+     * @param target  the container that needs to be laid out
+     * @return the dimensions &gt;= 0 &amp;&amp; &lt;= Integer.MAX_VALUE
+     */
+    @Override
+    public synchronized Dimension minimumLayoutSize(Container target) {
+        return isScrolling(target)
+            ? scrollingLayoutSize(target)
+            : super.minimumLayoutSize(target);
+    }
+
+
+    /**
+     * Returns the maximum dimensions the target container can use
+     * to lay out the components it contains. In scrolling mode
+     * this is the preferred size.
+     *
+     * @param target  the container that needs to be laid out
+     * @return the dimensions &gt;= 0 &amp;&amp; &lt;= Integer.MAX_VALUE
+     */
+    @Override
+    public synchronized Dimension maximumLayoutSize(Container target) {
+        return isScrolling(target)
+            ? scrollingLayoutSize(target)
+            : super.maximumLayoutSize(target);
+    }
+
+
+    /**
+     * Lays out the target container. In scrolling mode the visible items
+     * are stacked between the scroll areas, starting with the first
+     * visible item, until the available height is used up.
+     *
+     * @param target  the container to lay out
+     */
+    @Override
+    public synchronized void layoutContainer(Container target) {
+        if (!isScrolling(target)) {
+            super.layoutContainer(target);
+            return;
+        }
+        Insets insets = target.getInsets();
+        int x = insets.left;
+        int y = insets.top + SCROLL_AREA_HEIGHT;
+        int width  = target.getWidth() - insets.left - insets.right;
+        int bottom = target.getHeight() - insets.bottom - SCROLL_AREA_HEIGHT;
+        int count  = target.getComponentCount();
+        firstVisibleIndex = firstShownIndex(target, firstVisibleIndex);
+        int end = firstVisibleIndex;
+        while (end < count) {
+            Component c = target.getComponent(end);
+            if (!c.isVisible()) {
+                end++;
+                continue;
+            }
+            Dimension size = c.getPreferredSize();
+            if (y + size.height > bottom && end > firstVisibleIndex) {
+                break;
+            }
+            scrollingWidth = Math.max(scrollingWidth, size.width);
+            c.setBounds(x, y, width, size.height);
+            y += size.height;
+            end++;
+        }
+        visibleEnd = end;
+        for (int i = 0; i < count; i++) {
+            Component c = target.getComponent(i);
+            if (i >= firstVisibleIndex && i < end && c.isVisible()) {
+                continue;
+            }
+            if (c.getWidth() != 0 || c.getHeight() != 0) {
+                c.setBounds(0, 0, 0, 0);
+            }
+        }
+    }
+
+
+    // Scrolling Mode *********************************************************
+
+    /**
+     * Checks and answers whether the given target is laid out in scrolling
+     * mode, i.e. its visible row count is set and it has more visible
+     * components.
+     *
+     * @param target  the container to check
+     * @return true if only a window of the target's items is laid out
+     *
+     * @see Options#POPUP_MENU_VISIBLE_ROW_COUNT_KEY
+     * @since 2.9
+     */
+    public boolean isScrolling(Container target) {
+        int rows = getVisibleRowCount(target);
+        return rows > 0 && visibleCount(target, 0, target.getComponentCount()) > rows;
+    }
+
+
+    /**
+     * Checks and answers whether the target can be scrolled up,
+     * i.e. whether there are items above the visible ones.
+     *
+     * @param target  the scrolling container
+     * @return true if the target can be scrolled up
+     *
+     * @since 2.9
+     */
+    public synchronized boolean canScrollUp(Container target) {
+        return isScrolling(target) && visibleCount(target, 0, firstVisibleIndex) > 0;
+    }
+
+
+    /**
+     * Checks and answers whether the target can be scrolled down,
+     * i.e. whether there are items below the visible ones.
+     *
+     * @param target  the scrolling container
+     * @return true if the target can be scrolled down
+     *
+     * @since 2.9
+     */
+    public synchronized boolean canScrollDown(Container target) {
+        return isScrolling(target)
+            && visibleCount(target, visibleEnd, target.getComponentCount()) > 0;
+    }
+
+
+    /**
+     * Scrolls the visible items by the given number of rows and lays out
+     * the target. Doesn't scroll beyond the first or last item;
+     * invisible items don't count as rows.
+     *
+     * @param target  the scrolling container
+     * @param rows    the number of rows to scroll, negative to scroll up
+     * @return true if the visible items have changed, false otherwise
+     *
+     * @since 2.9
+     */
+    public synchronized boolean scrollBy(Container target, int rows) {
+        if (!isScrolling(target)) {
+            return false;
+        }
+        int newFirst;
+        if (rows < 0) {
+            newFirst = moveByVisible(target, firstVisibleIndex, rows);
+        } else {
+            int remaining = visibleCount(target, visibleEnd, target.getComponentCount());
+            newFirst = moveByVisible(target, firstVisibleIndex, Math.min(rows, remaining));
+        }
+        if (newFirst == firstVisibleIndex) {
+            return false;
+        }
+        firstVisibleIndex = newFirst;
+        layoutContainer(target);
+        return true;
+    }
+
+
+    /**
+     * Scrolls the item with the given index into the visible items,
+     * if it isn't visible already, and lays out the target.
+     *
+     * @param target  the scrolling container
+     * @param index   the index of the item to make visible
+     * @return true if the visible items have changed, false otherwise
+     *
+     * @since 2.9
+     */
+    public synchronized boolean scrollToVisible(Container target, int index) {
+        if (   !isScrolling(target)
+            || index < 0
+            || index >= target.getComponentCount()
+            || !target.getComponent(index).isVisible()) {
+            return false;
+        }
+        if (index < firstVisibleIndex) {
+            firstVisibleIndex = index;
+            layoutContainer(target);
+            return true;
+        }
+        boolean scrolled = false;
+        while (index >= visibleEnd) {
+            int rows = visibleCount(target, visibleEnd, index + 1);
+            firstVisibleIndex = moveByVisible(target, firstVisibleIndex, rows);
+            layoutContainer(target);
+            scrolled = true;
+        }
+        return scrolled;
+    }
+
+
+    /**
+     * Resets the scroll position to the first item. Invoked before
+     * the popup menu becomes visible.
+     *
+     * @since 2.9
+     */
+    public synchronized void resetScrollPosition() {
+        firstVisibleIndex = 0;
+        visibleEnd = 0;
+        scrollingWidth = 0;
+    }
+
+
+    /**
+     * Computes and returns the size of the target in scrolling mode.
+     * Measures only the visible items starting at the first visible one;
+     * the row height is the largest item height among them. The width
+     * is the largest item width measured since the last reset,
+     * so that items scrolled into view before still fit.
+     */
+    private Dimension scrollingLayoutSize(Container target) {
+        int rows  = getVisibleRowCount(target);
+        int count = target.getComponentCount();
+        int lastFirst = moveByVisible(target, count, -rows);
+        int first = Math.min(firstShownIndex(target, firstVisibleIndex), lastFirst);
+        int rowHeight = 0;
+        int measured = 0;
+        for (int i = first; i < count && measured < rows; i++) {
+            Component c = target.getComponent(i);
+            if (!c.isVisible()) {
+                continue;
+            }
+            Dimension size = c.getPreferredSize();
+            scrollingWidth = Math.max(scrollingWidth, size.width);
+            rowHeight = Math.max(rowHeight, size.height);
+            measured++;
+        }
+        Insets insets = target.getInsets();
+        return new Dimension(
+                scrollingWidth + insets.left + insets.right,
+                rows * rowHeight + 2 * SCROLL_AREA_HEIGHT + insets.top + insets.bottom);
+    }
+
+
+    /**
+     * Returns the number of visible components in the given index range.
+     */
+    private static int visibleCount(Container target, int from, int to) {
+        int visible = 0;
+        for (int i = from; i < to; i++) {
+            if (target.getComponent(i).isVisible()) {
+                visible++;
+            }
+        }
+        return visible;
+    }
+
+
+    /**
+     * Returns the index of the visible component that is the given number
+     * of visible components after the given index, or before it if
+     * {@code rows} is negative. Stops at the last or first visible component.
+     */
+    private static int moveByVisible(Container target, int index, int rows) {
+        int result = index;
+        int remaining = rows;
+        if (rows > 0) {
+            for (int i = index + 1; i < target.getComponentCount() && remaining > 0; i++) {
+                if (target.getComponent(i).isVisible()) {
+                    result = i;
+                    remaining--;
+                }
+            }
+        } else {
+            for (int i = index - 1; i >= 0 && remaining < 0; i--) {
+                if (target.getComponent(i).isVisible()) {
+                    result = i;
+                    remaining++;
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the index of the first visible component at or after
+     * the given index, or of the last visible component before it,
+     * if there's none after; 0 if no component is visible.
+     */
+    private static int firstShownIndex(Container target, int index) {
+        int count = target.getComponentCount();
+        for (int i = Math.max(0, index); i < count; i++) {
+            if (target.getComponent(i).isVisible()) {
+                return i;
+            }
+        }
+        for (int i = Math.min(index, count) - 1; i >= 0; i--) {
+            if (target.getComponent(i).isVisible()) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+
+    private static int getVisibleRowCount(Container target) {
+        if (!(target instanceof JComponent)) {
+            return 0;
+        }
+        Object value = ((JComponent) target).getClientProperty(
+                Options.POPUP_MENU_VISIBLE_ROW_COUNT_KEY);
+        return value instanceof Integer ? ((Integer) value).intValue() : 0;
     }
 
 
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+import java.awt.Component;
+import java.awt.Panel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.JWindow;
+
+import com.jgoodies.looks.Options;
+import com.jgoodies.looks.common.PaintStatistics.Probe;
+
+/**
+ * Records the latency of the popup operations of the
+ * {@link ShadowPopupFactory} and {@link ShadowPopup} per popup type,
+ * and provides the hits, misses, and overflows of the ShadowPopup
+ * recycle list.
+ * The statistics are published as JMX MXBean under {@link #OBJECT_NAME}
+ * and are available via {@link #getStatistics()}.<p>
+ *
+ * Like the {@link PaintStatistics}, these statistics are recorded only if
+ * the system property {@link Options#PAINT_STATISTICS_ENABLED_KEY}
+ * is set to {@code true}.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PopupStatisticsMXBean
+ *
+ * @since 2.9
+ */
+public final class PopupStatistics {
+
+    /**
+     * The name the MXBean is registered under in the platform MBean server.
+     */
+    public static final String OBJECT_NAME =
+        "com.jgoodies.looks:type=PopupStatistics";
+
+    /**
+     * Describes the kind of window that holds the popup contents.
+     */
+    enum PopupType {
+
+        /** The contents are added to the owner's layered pane. */
+        LIGHTWEIGHT,
+
+        /** The contents are added to an AWT Panel in the owner's window. */
+        MEDIUMWEIGHT,
+
+        /** The contents are added to a separate window. */
+        HEAVYWEIGHT;
+
+        /**
+         * Determines the type of the popup that holds the given contents.
+         *
+         * @param contents   the popup contents
+         * @return the type of the popup that holds the contents
+         */
+        static PopupType of(Component contents) {
+            for (Component p = contents; p != null; p = p.getParent()) {
+                if (p instanceof JWindow) {
+                    return HEAVYWEIGHT;
+                } else if (p instanceof Panel) {
+                    return MEDIUMWEIGHT;
+                }
+            }
+            return LIGHTWEIGHT;
+        }
+    }
+
+    /**
+     * The recorded popup operations.
+     */
+    enum Operation {
+        GET_POPUP("getPopup"),
+        RESET("reset"),
+        SHOW("show"),
+        SNAPSHOT("snapshot"),
+        HIDE("hide");
+
+        private final String name;
+
+        Operation(String name) {
+            this.name = name;
+        }
+    }
+
+    private static final Probe[][] PROBES = createProbes();
+
+    private static final Statistics STATISTICS = new Statistics();
+
+    static {
+        if (PaintStatistics.ENABLED) {
+            PaintStatistics.registerMXBean(STATISTICS, OBJECT_NAME, "Popup statistics");
+        }
+    }
+
+
+    private PopupStatistics() {
+        // Overrides default constructor; prevents instantiation.
+    }
+
+
+    // API ********************************************************************
+
+    /**
+     * Returns the popup statistics, for example to log
+     * them in environments where JMX is not available.
+     *
+     * @return the popup statistics
+     */
+    public static PopupStatisticsMXBean getStatistics() {
+        return STATISTICS;
+    }
+
+
+    // Recording **************************************************************
+
+    /**
+     * Records an operation on the popup with the given contents
+     * that started at the given time.
+     *
+     * @param operation   the recorded operation
+     * @param contents    the popup contents, used to determine the popup type
+     * @param startNanos  the {@link System#nanoTime()} at the start of the operation
+     */
+    static void record(Operation operation, Component contents, long startNanos) {
+        record(operation, PopupType.of(contents), startNanos);
+    }
+
+    /**
+     * Records an operation on a popup of the given type
+     * that started at the given time.
+     *
+     * @param operation   the recorded operation
+     * @param type        the type of the popup
+     * @param startNanos  the {@link System#nanoTime()} at the start of the operation
+     */
+    static void record(Operation operation, PopupType type, long startNanos) {
+        PROBES[operation.ordinal()][type.ordinal()].record(startNanos);
+    }
+
+
+
+    // Helper Code ************************************************************
+
+    private static Probe[][] createProbes() {
+        Operation[] operations = Operation.values();
+        PopupType[] types = PopupType.values();
+        Probe[][] probes = new Probe[operations.length][types.length];
+        for (Operation operation : operations) {
+            for (PopupType type : types) {
+                String name = operation.name + "." + type.name().toLowerCase(Locale.ENGLISH);
+                probes[operation.ordinal()][type.ordinal()] = new Probe(name);
+            }
+        }
+        return probes;
+    }
+
+
+    private static List<Probe> allProbes() {
+        List<Probe> result = new ArrayList<>();
+        for (Probe[] operationProbes : PROBES) {
+            Collections.addAll(result, operationProbes);
+        }
+        return result;
+    }
+
+
+    // Helper Classes *********************************************************
+
+    private static final class Statistics extends PaintStatistics.Statistics
+        implements PopupStatisticsMXBean {
+
+        Statistics() {
+            super(allProbes());
+        }
+
+        @Override
+        public long getPoolHits() {
+            return ShadowPopup.STATISTICS.getHits();
+        }
+
+        @Override
+        public long getPoolMisses() {
+            return ShadowPopup.STATISTICS.getMisses();
+        }
+
+        @Override
+        public long getPoolOverflows() {
+            return ShadowPopup.STATISTICS.getEvictions();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            ShadowPopup.STATISTICS.reset();
+        }
+
+    }
+
+}
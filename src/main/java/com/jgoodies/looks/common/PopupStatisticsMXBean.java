@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.common;
+
+/**
+ * The JMX management interface for the {@link PopupStatistics}.
+ * The maps inherited from {@link PaintStatisticsMXBean} are keyed
+ * by popup operation and popup type, for example
+ * {@code "show.heavyweight"}.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PopupStatistics
+ *
+ * @since 2.9
+ */
+public interface PopupStatisticsMXBean extends PaintStatisticsMXBean {
+
+    /**
+     * Returns the number of ShadowPopups taken from the recycle list.
+     *
+     * @return the number of recycled ShadowPopups reused
+     */
+    long getPoolHits();
+
+
+    /**
+     * Returns the number of ShadowPopups created because
+     * the recycle list was empty.
+     *
+     * @return the number of ShadowPopups created
+     */
+    long getPoolMisses();
+
+
+    /**
+     * Returns the number of hidden ShadowPopups that couldn't be recycled,
+     * because the recycle list was full.
+     *
+     * @return the number of ShadowPopups not recycled
+     *
+     * @see com.jgoodies.looks.Options#getPopupCacheSize()
+     */
+    long getPoolOverflows();
+
+}
@@ -36,6 +36,14 @@ import java.awt.image.ColorModel;
 import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageProducer;
 import java.awt.image.RGBImageFilter;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 import javax.swing.GrayFilter;
 import javax.swing.Icon;
@@ -54,6 +62,17 @@ import com.jgoodies.looks.Options;
  * the client property key {@link Options#HI_RES_DISABLED_ICON_CLIENT_KEY}
  * to {@code Boolean.FALSE}.<p>
  *
+ * The generated disabled icons are cached per source icon identity
+ * and filter resolution. The cache holds the source icons weakly
+ * and keeps at most {@link #MAX_CACHED_ICONS} icons in least recently
+ * used order. Its statistics are available via {@link #STATISTICS}.
+ * Disabled icons precomputed via {@link DisabledIconPrecomputer}
+ * are kept until their source icon is collected.<p>
+ *
+ * Images that are available as BufferedImage are filtered directly
+ * on their pixels, large images in parallel; other images are filtered
+ * via an ImageProducer.<p>
+ *
  * Thanks to Andrej Golovnin for suggesting a simpler filter formula.
  *
  * @author Karsten Lentzsch
@@ -61,6 +80,69 @@ import com.jgoodies.looks.Options;
  */
 public final class RGBGrayFilter extends RGBImageFilter {
 
+    /**
+     * The maximum number of disabled icons cached.
+     *
+     * @since 2.9
+     */
+    public static final int MAX_CACHED_ICONS = 256;
+
+    /**
+     * Images with at least this number of pixels are filtered
+     * in parallel chunks of this size.
+     */
+    private static final int PARALLEL_THRESHOLD = 128 * 128;
+
+    /**
+     * Maps the sum of the red, green, and blue components
+     * to the gray component.
+     */
+    private static final int[] GRAY_LUT = createGrayLUT();
+
+    /**
+     * Receives the keys whose source icon has been collected.
+     */
+    private static final ReferenceQueue<Icon> STALE_KEYS = new ReferenceQueue<>();
+
+    /**
+     * Maps source icons and filter resolution to the disabled icons
+     * in least recently used order. Synchronized on itself.
+     */
+    private static final Map<IconKey, CachedIcon> DISABLED_ICONS =
+        new LinkedHashMap<IconKey, CachedIcon>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IconKey, CachedIcon> eldest) {
+                if (size() <= MAX_CACHED_ICONS) {
+                    return false;
+                }
+                STATISTICS.recordEviction();
+                return true;
+            }
+        };
+
+    /**
+     * Maps source icons and filter resolution to the precomputed
+     * disabled icons. Synchronized on DISABLED_ICONS.
+     */
+    private static final Map<IconKey, CachedIcon> PRECOMPUTED_ICONS =
+        new HashMap<>();
+
+    /**
+     * Counts hits, misses and evictions of the disabled icon cache.
+     *
+     * @since 2.9
+     */
+    public static final CacheStatistics STATISTICS = CacheStatistics.register(
+        new CacheStatistics("DisabledIcons", MAX_CACHED_ICONS) {
+            @Override
+            public int getSize() {
+                synchronized (DISABLED_ICONS) {
+                    return DISABLED_ICONS.size() + PRECOMPUTED_ICONS.size();
+                }
+            }
+        });
+
+
     /**
      * Overrides default constructor; prevents instantiation.
      */
@@ -72,6 +154,8 @@ public final class RGBGrayFilter extends RGBImageFilter {
     /**
      * Returns an icon with a disabled appearance. This method is used
      * to generate a disabled icon when one has not been specified.
+     * Returns a cached icon, if the given icon has been filtered before
+     * with the same resolution and hasn't changed its image or size.
      *
      * @param component the component that will display the icon, may be null.
      * @param icon the icon to generate disabled icon from.
@@ -84,6 +168,82 @@ public final class RGBGrayFilter extends RGBImageFilter {
             || (icon.getIconHeight() == 0)) {
             return null;
         }
+        boolean hiRes = isHiResEnabled(component);
+        Image sourceImage = icon instanceof ImageIcon
+            ? ((ImageIcon) icon).getImage()
+            : null;
+        synchronized (DISABLED_ICONS) {
+            expungeStaleIcons();
+            IconKey key = new IconKey(icon, hiRes, null);
+            CachedIcon cached = DISABLED_ICONS.get(key);
+            if (cached == null) {
+                cached = PRECOMPUTED_ICONS.get(key);
+            }
+            if (cached != null && cached.matches(icon, sourceImage)) {
+                STATISTICS.recordHit();
+                return cached.disabledIcon;
+            }
+        }
+        STATISTICS.recordMiss();
+        Icon disabledIcon = createDisabledIcon(component, icon, hiRes);
+        synchronized (DISABLED_ICONS) {
+            DISABLED_ICONS.put(
+                    new IconKey(icon, hiRes, STALE_KEYS),
+                    new CachedIcon(icon, sourceImage, disabledIcon));
+        }
+        return disabledIcon;
+    }
+
+
+    /**
+     * Creates the disabled icon for the given icon unless it
+     * has been precomputed before, and keeps it until the icon
+     * is garbage collected. Used by the DisabledIconPrecomputer
+     * and may be invoked outside the event dispatch thread.
+     *
+     * @param component  the component used to create images
+     * @param icon       the icon to precompute the disabled icon for
+     * @param hiRes      true to use this filter, false for the GrayFilter
+     */
+    static void precomputeDisabledIcon(JComponent component, Icon icon, boolean hiRes) {
+        if (   (icon.getIconWidth() == 0)
+            || (icon.getIconHeight() == 0)) {
+            return;
+        }
+        Image sourceImage = icon instanceof ImageIcon
+            ? ((ImageIcon) icon).getImage()
+            : null;
+        synchronized (DISABLED_ICONS) {
+            CachedIcon cached = PRECOMPUTED_ICONS.get(new IconKey(icon, hiRes, null));
+            if (cached != null && cached.matches(icon, sourceImage)) {
+                return;
+            }
+        }
+        Icon disabledIcon = createDisabledIcon(component, icon, hiRes);
+        synchronized (DISABLED_ICONS) {
+            expungeStaleIcons();
+            PRECOMPUTED_ICONS.put(
+                    new IconKey(icon, hiRes, STALE_KEYS),
+                    new CachedIcon(icon, sourceImage, disabledIcon));
+        }
+    }
+
+
+    /**
+     * Checks and answers whether the high-resolution gray filter
+     * shall be used for disabled icons of the given component.
+     *
+     * @param component   the component that will display the icon
+     * @return true if the hi-res filter is enabled globally
+     *     and not disabled for the component
+     */
+    static boolean isHiResEnabled(JComponent component) {
+        return Options.isHiResGrayFilterEnabled()
+            && !Boolean.FALSE.equals(component.getClientProperty(Options.HI_RES_DISABLED_ICON_CLIENT_KEY));
+    }
+
+
+    private static Icon createDisabledIcon(JComponent component, Icon icon, boolean hiRes) {
         Image img;
         if (icon instanceof ImageIcon) {
             img = ((ImageIcon) icon).getImage();
@@ -94,10 +254,12 @@ public final class RGBGrayFilter extends RGBImageFilter {
                     BufferedImage.TYPE_INT_ARGB);
             icon.paintIcon(component, img.getGraphics(), 0, 0);
         }
-        if (   !Options.isHiResGrayFilterEnabled()
-            || (Boolean.FALSE.equals(component.getClientProperty(Options.HI_RES_DISABLED_ICON_CLIENT_KEY)))) {
+        if (!hiRes) {
             return new ImageIcon(GrayFilter.createDisabledImage(img));
         }
+        if (img instanceof BufferedImage) {
+            return new ImageIcon(filter((BufferedImage) img));
+        }
 
         ImageProducer producer =
             new FilteredImageSource(img.getSource(), new RGBGrayFilter());
@@ -106,6 +268,68 @@ public final class RGBGrayFilter extends RGBImageFilter {
     }
 
 
+    /**
+     * Filters the pixels of the given image into a new ARGB image.
+     * Large images are split into chunks that are filtered in parallel.
+     */
+    private static BufferedImage filter(BufferedImage image) {
+        int width  = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+        if (pixels.length < PARALLEL_THRESHOLD) {
+            filterPixels(pixels, 0, pixels.length);
+        } else {
+            ParallelFilter.POOL.invoke(new ParallelFilter(pixels, 0, pixels.length));
+        }
+        BufferedImage result = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        result.getRaster().setDataElements(0, 0, width, height, pixels);
+        return result;
+    }
+
+
+    private static void filterPixels(int[] pixels, int from, int to) {
+        for (int i = from; i < to; i++) {
+            pixels[i] = filterPixel(pixels[i]);
+        }
+    }
+
+
+    private static int filterPixel(int rgb) {
+        int sum = ((rgb >> 16) & 0xff) + ((rgb >> 8) & 0xff) + (rgb & 0xff);
+        return (rgb & 0xff000000) | GRAY_LUT[sum] * 0x010101;
+    }
+
+
+    private static int[] createGrayLUT() {
+        int[] lut = new int[3 * 255 + 1];
+        for (int sum = 0; sum < lut.length; sum++) {
+            // Find the average of red, green, and blue.
+            float avg = sum / (3 * 255f);
+            // Calculate the gray value.
+            // Sun's formula: Math.min(1.0f, (1f - avg) / (100.0f / 35.0f) + avg);
+            // The following formula uses less operations and hence is faster.
+            avg = Math.min(1.0f, 0.35f + 0.65f * avg);
+            lut[sum] = (int) (avg * 255f);
+        }
+        return lut;
+    }
+
+
+    /**
+     * Removes the cached icons whose source icon has been
+     * garbage collected. Invoked while holding the lock on DISABLED_ICONS.
+     */
+    private static void expungeStaleIcons() {
+        Reference<? extends Icon> staleKey;
+        while ((staleKey = STALE_KEYS.poll()) != null) {
+            if (   DISABLED_ICONS.remove(staleKey) != null
+                || PRECOMPUTED_ICONS.remove(staleKey) != null) {
+                STATISTICS.recordEviction();
+            }
+        }
+    }
+
+
     /**
      * Converts a single input pixel in the default RGB ColorModel to a single
      * gray pixel.
@@ -120,22 +344,111 @@ public final class RGBGrayFilter extends RGBImageFilter {
      */
     @Override
     public int filterRGB(int x, int y, int rgb) {
-        // Find the average of red, green, and blue.
-        float avg = (((rgb >> 16) & 0xff) / 255f +
-                     ((rgb >>  8) & 0xff) / 255f +
-                      (rgb        & 0xff) / 255f) / 3;
-        // Pull out the alpha channel.
-        float alpha = (((rgb >> 24) & 0xff) / 255f);
-
-        // Calculate the average.
-        // Sun's formula: Math.min(1.0f, (1f - avg) / (100.0f / 35.0f) + avg);
-        // The following formula uses less operations and hence is faster.
-        avg = Math.min(1.0f, 0.35f + 0.65f * avg);
-        // Convert back into RGB.
-       return (int) (alpha * 255f) << 24 |
-              (int) (avg   * 255f) << 16 |
-              (int) (avg   * 255f) << 8  |
-              (int) (avg   * 255f);
+        return filterPixel(rgb);
+    }
+
+
+    // Helper Classes *********************************************************
+
+    /**
+     * Filters a range of pixels, splits ranges larger than
+     * {@link #PARALLEL_THRESHOLD} into halves that are filtered in parallel.
+     */
+    private static final class ParallelFilter extends RecursiveAction {
+
+        /**
+         * The pool used to filter large images, created on first use.
+         */
+        static final ForkJoinPool POOL = new ForkJoinPool();
+
+        private final int[] pixels;
+        private final int from;
+        private final int to;
+
+        ParallelFilter(int[] pixels, int from, int to) {
+            this.pixels = pixels;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                filterPixels(pixels, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParallelFilter(pixels, from, middle),
+                      new ParallelFilter(pixels, middle, to));
+        }
+    }
+
+
+    /**
+     * Identifies a disabled icon by the identity of its source icon
+     * and the filter resolution. Holds the source icon weakly.
+     * A key whose icon has been collected is equal only to itself.
+     */
+    private static final class IconKey extends WeakReference<Icon> {
+
+        private final boolean hiRes;
+        private final int hash;
+
+        IconKey(Icon icon, boolean hiRes, ReferenceQueue<Icon> queue) {
+            super(icon, queue);
+            this.hiRes = hiRes;
+            this.hash = 31 * System.identityHashCode(icon) + (hiRes ? 1 : 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof IconKey)) {
+                return false;
+            }
+            IconKey other = (IconKey) o;
+            Icon icon = get();
+            return icon != null
+                && icon == other.get()
+                && hiRes == other.hiRes;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+
+    /**
+     * Holds a disabled icon together with the state of the source icon
+     * it has been created from. An ImageIcon's image is held weakly,
+     * so the cache doesn't prevent a replaced image from being collected.
+     */
+    private static final class CachedIcon {
+
+        private final int width;
+        private final int height;
+        private final WeakReference<Image> sourceImage;
+        final Icon disabledIcon;
+
+        CachedIcon(Icon icon, Image sourceImage, Icon disabledIcon) {
+            this.width = icon.getIconWidth();
+            this.height = icon.getIconHeight();
+            this.sourceImage = sourceImage == null
+                ? null
+                : new WeakReference<>(sourceImage);
+            this.disabledIcon = disabledIcon;
+        }
+
+        boolean matches(Icon icon, Image image) {
+            Image cachedImage = sourceImage == null ? null : sourceImage.get();
+            return width == icon.getIconWidth()
+                && height == icon.getIconHeight()
+                && cachedImage == image;
+        }
     }
 
 }
@@ -31,18 +31,25 @@
 package com.jgoodies.looks.common;
 
 import java.awt.AWTException;
+import java.awt.Color;
 import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
+import java.awt.IllegalComponentStateException;
 import java.awt.Panel;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.Robot;
 import java.awt.Window;
 import java.awt.image.BufferedImage;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Deque;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.swing.JApplet;
 import javax.swing.JComboBox;
@@ -54,11 +61,18 @@ import javax.swing.Popup;
 import javax.swing.SwingUtilities;
 import javax.swing.border.Border;
 
+import com.jgoodies.looks.Options;
+import com.jgoodies.looks.common.PopupStatistics.Operation;
+import com.jgoodies.looks.common.PopupStatistics.PopupType;
+
 /**
  * Does all the magic for getting popups with drop shadows.
  * It adds the drop shadow border to the Popup,
  * in {@code #show} it snapshots the screen background as needed,
  * and in {@code #hide} it cleans up all changes made before.
+ * Heavy weight popups on devices that support per-pixel translucent
+ * windows are made translucent instead, so the drop shadow is painted
+ * with alpha and no snapshot is needed.
  *
  * @author Karsten Lentzsch
  * @version $Revision: 1.12 $
@@ -69,14 +83,35 @@ import javax.swing.border.Border;
 public final class ShadowPopup extends Popup {
 
     /**
-     * Max number of items to store in the cache.
+     * The recycled ShadowPopups; used as lock-free stack.
+     * Holds at most {@link Options#getPopupCacheSize()} popups.
+     */
+    private static final Deque<ShadowPopup> CACHE = new ConcurrentLinkedDeque<>();
+
+    /**
+     * The number of popups in the CACHE; maintained separately,
+     * because the size of a ConcurrentLinkedDeque is computed
+     * in linear time.
      */
-    private static final int MAX_CACHE_SIZE = 5;
+    private static final AtomicInteger CACHE_SIZE = new AtomicInteger();
 
     /**
-     * The cache to use for ShadowPopups.
+     * Counts reused popups (hits), created popups (misses), and
+     * popups that couldn't be recycled, because the cache was full
+     * (evictions).
      */
-    private static List<ShadowPopup> cache;
+    static final CacheStatistics STATISTICS = CacheStatistics.register(
+        new CacheStatistics("ShadowPopups", Options.DEFAULT_POPUP_CACHE_SIZE) {
+            @Override
+            public int getSize() {
+                return CACHE_SIZE.get();
+            }
+
+            @Override
+            public int getCapacity() {
+                return Options.getPopupCacheSize();
+            }
+        });
 
     /**
      * The singleton instance used to draw all borders.
@@ -88,11 +123,22 @@ public final class ShadowPopup extends Popup {
      */
     private static final int SHADOW_SIZE = 5;
 
+    /**
+     * The background of heavy weight popups that are per-pixel translucent.
+     */
+    private static final Color TRANSPARENT = new Color(0, 0, 0, 0);
+
     /**
      * Indicates whether we can make snapshots from screen or not.
      */
     private static boolean canSnapshot = true;
 
+    /**
+     * Maps screen devices to the robot used to capture their screen.
+     * Synchronized on itself.
+     */
+    private static final Map<GraphicsDevice, Robot> ROBOTS = new WeakHashMap<>();
+
     /**
      * The component mouse coordinates are relative to, may be null.
      */
@@ -129,36 +175,64 @@ public final class ShadowPopup extends Popup {
      */
     private Container heavyWeightContainer;
 
+    /**
+     * Indicates whether the heavy weight container has been made
+     * per-pixel translucent.
+     */
+    private boolean translucent;
+
+    /**
+     * The background of the heavy weight container and the opaque
+     * properties of its layered pane, root pane and content pane
+     * before it has been made translucent.
+     */
+    private Color oldBackground;
+    private boolean oldLayeredPaneOpaque;
+    private boolean oldRootPaneOpaque;
+    private boolean oldContentPaneOpaque;
+
+    /**
+     * The buffers reused to snapshot the background of the horizontal
+     * and vertical drop shadow, may be null.
+     */
+    private BufferedImage hShadowBuffer, vShadowBuffer;
+
     /**
      * Returns a previously used {@code ShadowPopup}, or a new one
      * if none of the popups have been recycled.
      */
     static Popup getInstance(Component owner, Component contents, int x,
             int y, Popup delegate) {
-        ShadowPopup result;
-        synchronized (ShadowPopup.class) {
-            if (cache == null) {
-                cache = new ArrayList<>(MAX_CACHE_SIZE);
-            }
-            if (cache.size() > 0) {
-                result = cache.remove(0);
-            } else {
-                result = new ShadowPopup();
-            }
+        ShadowPopup result = CACHE.pollFirst();
+        if (result != null) {
+            CACHE_SIZE.decrementAndGet();
+            STATISTICS.recordHit();
+        } else {
+            result = new ShadowPopup();
+            STATISTICS.recordMiss();
         }
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
         result.reset(owner, contents, x, y, delegate);
+        if (PaintStatistics.ENABLED) {
+            PopupStatistics.record(Operation.RESET, contents, start);
+        }
         return result;
     }
 
     /**
-     * Recycles the ShadowPopup.
+     * Recycles the ShadowPopup, if the cache isn't full.
      */
     private static void recycle(ShadowPopup popup) {
-        synchronized (ShadowPopup.class) {
-            if (cache.size() < MAX_CACHE_SIZE) {
-                cache.add(popup);
+        int maxSize = Options.getPopupCacheSize();
+        int size;
+        do {
+            size = CACHE_SIZE.get();
+            if (size >= maxSize) {
+                STATISTICS.recordEviction();
+                return;
             }
-        }
+        } while (!CACHE_SIZE.compareAndSet(size, size + 1));
+        CACHE.offerFirst(popup);
     }
 
     public static boolean canSnapshot() {
@@ -181,36 +255,64 @@ public final class ShadowPopup extends Popup {
         if (contents == null) {
             return;
         }
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
+        // Determine the type before the delegate removes the contents.
+        PopupType type = PaintStatistics.ENABLED ? PopupType.of(contents) : null;
 
         JComponent parent = (JComponent) contents.getParent();
         popup.hide();
         if (parent != null && parent.getBorder() == SHADOW_BORDER) {
             parent.setBorder(oldBorder);
-            parent.setOpaque(oldOpaque);
             oldBorder = null;
-            if (heavyWeightContainer != null) {
+            if (translucent) {
+                // Restore the background first, because Window#setBackground
+                // resets the opaque property of the window's panes.
+                JWindow window = (JWindow) heavyWeightContainer;
+                window.setBackground(oldBackground);
+                JRootPane rootPane = window.getRootPane();
+                rootPane.getLayeredPane().setOpaque(oldLayeredPaneOpaque);
+                rootPane.setOpaque(oldRootPaneOpaque);
+                Container contentPane = rootPane.getContentPane();
+                if (contentPane instanceof JComponent) {
+                    ((JComponent) contentPane).setOpaque(oldContentPaneOpaque);
+                }
+                oldBackground = null;
+                translucent = false;
+                heavyWeightContainer = null;
+            } else if (heavyWeightContainer != null) {
                 parent.putClientProperty(ShadowPopupFactory.PROP_HORIZONTAL_BACKGROUND, null);
                 parent.putClientProperty(ShadowPopupFactory.PROP_VERTICAL_BACKGROUND, null);
                 heavyWeightContainer = null;
             }
+            parent.setOpaque(oldOpaque);
         }
         owner = null;
         contents = null;
         popup = null;
         recycle(this);
+        if (PaintStatistics.ENABLED) {
+            PopupStatistics.record(Operation.HIDE, type, start);
+        }
     }
 
     /**
-     * Makes the {@code Popup} visible. If the popup has a
-     * heavy-weight container, we try to snapshot the background.
+     * Makes the {@code Popup} visible. If the popup has a heavy-weight
+     * container that is not translucent, we try to snapshot the background.
      * If the {@code Popup} is currently visible, it remains visible.
      */
     @Override
     public void show() {
-        if (heavyWeightContainer != null) {
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
+        if (heavyWeightContainer != null && !translucent) {
             snapshot();
+            if (PaintStatistics.ENABLED) {
+                PopupStatistics.record(Operation.SNAPSHOT, contents, start);
+            }
         }
         popup.show();
+        if (PaintStatistics.ENABLED) {
+            PopupStatistics.record(Operation.SHOW, contents, start);
+        }
     }
 
     /**
@@ -239,16 +341,22 @@ public final class ShadowPopup extends Popup {
         if (contentsPrefSize.width <= 0 || contentsPrefSize.height <= 0) {
             return;
         }
-        for (Container p = contents.getParent(); p != null; p = p.getParent()) {
+        // Store the opaque property before the container is made translucent,
+        // which may change it, see #makeTranslucent.
+        JComponent parent = (JComponent) contents.getParent();
+        oldOpaque = parent.isOpaque();
+        for (Container p = parent; p != null; p = p.getParent()) {
             if (p instanceof JWindow || p instanceof Panel) {
-                // Workaround for the gray rect problem.
-                p.setBackground(contents.getBackground());
+                translucent = p instanceof JWindow
+                           && makeTranslucent((JWindow) p);
+                if (!translucent) {
+                    // Workaround for the gray rect problem.
+                    p.setBackground(contents.getBackground());
+                }
                 heavyWeightContainer = p;
                 break;
             }
         }
-        JComponent parent = (JComponent) contents.getParent();
-        oldOpaque = parent.isOpaque();
         oldBorder = parent.getBorder();
         parent.setOpaque(false);
         parent.setBorder(SHADOW_BORDER);
@@ -261,23 +369,60 @@ public final class ShadowPopup extends Popup {
         }
     }
 
+    /**
+     * Makes the given popup window per-pixel translucent, if its
+     * device supports it, and stores the state to restore in {@code #hide}.
+     *
+     * @param window   the heavy weight popup window
+     * @return true if the window has been made translucent, false otherwise
+     */
+    private boolean makeTranslucent(JWindow window) {
+        if (!ShadowPopupFactory.isTranslucentPopupSupported(
+                window.getGraphicsConfiguration().getDevice())) {
+            return false;
+        }
+        // Window#setBackground makes the window's panes non-opaque,
+        // so we store their opaque property before.
+        Color background = window.getBackground();
+        JRootPane rootPane = window.getRootPane();
+        Container contentPane = rootPane.getContentPane();
+        boolean layeredPaneOpaque = rootPane.getLayeredPane().isOpaque();
+        boolean rootPaneOpaque = rootPane.isOpaque();
+        boolean contentPaneOpaque = contentPane.isOpaque();
+        try {
+            window.setBackground(TRANSPARENT);
+        } catch (UnsupportedOperationException | IllegalComponentStateException e) {
+            return false;
+        }
+        oldBackground = background;
+        oldLayeredPaneOpaque = layeredPaneOpaque;
+        oldRootPaneOpaque = rootPaneOpaque;
+        oldContentPaneOpaque = contentPaneOpaque;
+        rootPane.setOpaque(false);
+        return true;
+    }
+
     /**
      * The 'scratch pad' objects used to calculate dirty regions of
      * the screen snapshots.
      *
      * @see #snapshot()
      */
-    private static final Point     POINT = new Point();
-    private static final Rectangle RECT  = new Rectangle();
+    private static final Point     POINT       = new Point();
+    private static final Rectangle RECT        = new Rectangle();
+    private static final Rectangle SCREEN_RECT = new Rectangle();
 
     /**
      * Snapshots the background. The snapshots are stored as client
      * properties of the contents' parent. The next time the border is drawn,
      * this background will be used.<p>
      *
-     * Uses a robot on the default screen device to capture the screen
-     * region under the drop shadow. Does <em>not</em> use the window's
-     * device, because that may be an outdated device (due to popup reuse)
+     * If the region under a drop shadow is fully covered by the owner's
+     * layered pane, the layered pane is painted into a buffer that
+     * is reused for subsequent shows of this popup. Otherwise a robot
+     * on the default screen device captures the screen region under
+     * the drop shadow. Does <em>not</em> use the window's device,
+     * because that may be an outdated device (due to popup reuse)
      * and the robot's origin seems to be adjusted with the default screen
      * device.
      *
@@ -297,91 +442,131 @@ public final class ShadowPopup extends Popup {
                 return;
             }
 
-            Robot robot = new Robot(); // uses the default screen device
-
-            RECT.setBounds(x, y + height - SHADOW_SIZE, width, SHADOW_SIZE);
-            BufferedImage hShadowBg = robot.createScreenCapture(RECT);
-
-            RECT.setBounds(x + width - SHADOW_SIZE, y, SHADOW_SIZE,
-                    height - SHADOW_SIZE);
-            BufferedImage vShadowBg = robot.createScreenCapture(RECT);
+            Container layeredPane = getLayeredPane();
+            BufferedImage hShadowBg = snapshot(layeredPane, true,
+                    x, y + height - SHADOW_SIZE, width, SHADOW_SIZE);
+            BufferedImage vShadowBg = snapshot(layeredPane, false,
+                    x + width - SHADOW_SIZE, y, SHADOW_SIZE, height - SHADOW_SIZE);
 
             JComponent parent = (JComponent) contents.getParent();
             parent.putClientProperty(ShadowPopupFactory.PROP_HORIZONTAL_BACKGROUND, hShadowBg);
             parent.putClientProperty(ShadowPopupFactory.PROP_VERTICAL_BACKGROUND, vShadowBg);
+        } catch (AWTException e) {
+            canSnapshot = false;
+        } catch (SecurityException e) {
+            canSnapshot = false;
+        }
+    }
 
-            Container layeredPane = getLayeredPane();
-            if (layeredPane == null) {
-                // This could happen if owner is null.
-                return;
-            }
 
+    /**
+     * Snapshots the background of the given screen region. Captures
+     * the screen unless the region is fully covered by the layered pane,
+     * and paints the region's part covered by the layered pane - if any.
+     *
+     * @param layeredPane  the layered pane that contains the owner, may be null
+     * @param horizontal   true for the horizontal shadow, false for the vertical
+     * @return the background of the given screen region
+     */
+    private BufferedImage snapshot(
+            Container layeredPane, boolean horizontal,
+            int screenX, int screenY, int width, int height) throws AWTException {
+        boolean covered = false;
+        RECT.setBounds(0, 0, 0, 0);
+        if (layeredPane != null) {
             int layeredPaneWidth = layeredPane.getWidth();
             int layeredPaneHeight = layeredPane.getHeight();
 
-            POINT.x = x;
-            POINT.y = y;
+            POINT.x = screenX;
+            POINT.y = screenY;
             SwingUtilities.convertPointFromScreen(POINT, layeredPane);
 
-            // If needed paint dirty region of the horizontal snapshot.
-            RECT.x = POINT.x;
-            RECT.y = POINT.y + height - SHADOW_SIZE;
-            RECT.width = width;
-            RECT.height = SHADOW_SIZE;
-
+            RECT.setBounds(POINT.x, POINT.y, width, height);
+            covered = RECT.x >= 0
+                   && RECT.y >= 0
+                   && RECT.x + RECT.width  <= layeredPaneWidth
+                   && RECT.y + RECT.height <= layeredPaneHeight;
             if (RECT.x + RECT.width > layeredPaneWidth) {
                 RECT.width = layeredPaneWidth - RECT.x;
             }
             if (RECT.y + RECT.height > layeredPaneHeight) {
                 RECT.height = layeredPaneHeight - RECT.y;
             }
-            if (!RECT.isEmpty()) {
-                Graphics g = hShadowBg.createGraphics();
-                g.translate(-RECT.x, -RECT.y);
-                g.setClip(RECT);
-                if (layeredPane instanceof JComponent) {
-                    JComponent c = (JComponent) layeredPane;
-                    boolean doubleBuffered = c.isDoubleBuffered();
-                    c.setDoubleBuffered(false);
-                    c.paintAll(g);
-                    c.setDoubleBuffered(doubleBuffered);
-                } else {
-                    layeredPane.paintAll(g);
-                }
-                g.dispose();
+        }
+        BufferedImage image;
+        if (covered) {
+            image = getBuffer(horizontal, width, height);
+        } else {
+            SCREEN_RECT.setBounds(screenX, screenY, width, height);
+            image = getRobot().createScreenCapture(SCREEN_RECT);
+        }
+
+        // If needed paint dirty region of the snapshot.
+        if (!RECT.isEmpty()) {
+            Graphics g = image.createGraphics();
+            if (covered) {
+                g.setColor(layeredPane.getBackground());
+                g.fillRect(0, 0, width, height);
+            }
+            g.translate(-RECT.x, -RECT.y);
+            g.setClip(RECT);
+            if (layeredPane instanceof JComponent) {
+                JComponent c = (JComponent) layeredPane;
+                boolean doubleBuffered = c.isDoubleBuffered();
+                c.setDoubleBuffered(false);
+                c.paintAll(g);
+                c.setDoubleBuffered(doubleBuffered);
+            } else {
+                layeredPane.paintAll(g);
             }
+            g.dispose();
+        }
+        return image;
+    }
 
-            // If needed paint dirty region of the vertical snapshot.
-            RECT.x = POINT.x + width - SHADOW_SIZE;
-            RECT.y = POINT.y;
-            RECT.width = SHADOW_SIZE;
-            RECT.height = height - SHADOW_SIZE;
 
-            if (RECT.x + RECT.width > layeredPaneWidth) {
-                RECT.width = layeredPaneWidth - RECT.x;
-            }
-            if (RECT.y + RECT.height > layeredPaneHeight) {
-                RECT.height = layeredPaneHeight - RECT.y;
+    /**
+     * Returns an image of the given size backed by the horizontal
+     * or vertical snapshot buffer of this popup. Enlarges the buffer
+     * if it is smaller than the requested size.
+     */
+    private BufferedImage getBuffer(boolean horizontal, int width, int height) {
+        BufferedImage buffer = horizontal ? hShadowBuffer : vShadowBuffer;
+        if (   buffer == null
+            || buffer.getWidth()  < width
+            || buffer.getHeight() < height) {
+            buffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            if (horizontal) {
+                hShadowBuffer = buffer;
+            } else {
+                vShadowBuffer = buffer;
             }
-            if (!RECT.isEmpty()) {
-                Graphics g = vShadowBg.createGraphics();
-                g.translate(-RECT.x, -RECT.y);
-                g.setClip(RECT);
-                if (layeredPane instanceof JComponent) {
-                    JComponent c = (JComponent) layeredPane;
-                    boolean doubleBuffered = c.isDoubleBuffered();
-                    c.setDoubleBuffered(false);
-                    c.paintAll(g);
-                    c.setDoubleBuffered(doubleBuffered);
-                } else {
-                    layeredPane.paintAll(g);
-                }
-                g.dispose();
+        }
+        return buffer.getWidth() == width && buffer.getHeight() == height
+            ? buffer
+            : buffer.getSubimage(0, 0, width, height);
+    }
+
+
+    /**
+     * Returns the robot for the default screen device,
+     * creates it if necessary.
+     *
+     * @throws AWTException if the platform doesn't allow low-level input control
+     */
+    private static Robot getRobot() throws AWTException {
+        if (GraphicsEnvironment.isHeadless()) {
+            throw new AWTException("headless environment");
+        }
+        GraphicsDevice device =
+            GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
+        synchronized (ROBOTS) {
+            Robot robot = ROBOTS.get(device);
+            if (robot == null) {
+                robot = new Robot(device);
+                ROBOTS.put(device, robot);
             }
-        } catch (AWTException e) {
-            canSnapshot = false;
-        } catch (SecurityException e) {
-            canSnapshot = false;
+            return robot;
         }
     }
 
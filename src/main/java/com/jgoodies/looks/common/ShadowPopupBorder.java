@@ -30,10 +30,19 @@
 
 package com.jgoodies.looks.common;
 
+import java.awt.AlphaComposite;
 import java.awt.Component;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsEnvironment;
 import java.awt.Image;
 import java.awt.Insets;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import javax.swing.ImageIcon;
 import javax.swing.JComponent;
@@ -57,6 +66,24 @@ final class ShadowPopupBorder extends AbstractBorder {
      */
     private static final int SHADOW_SIZE = 5;
 
+    /**
+     * The insets shared by all shadow borders; must not be modified.
+     */
+    private static final Insets INSETS = new Insets(0, 0, SHADOW_SIZE, SHADOW_SIZE);
+
+    /**
+     * The length of the pre-composed edge tiles. Longer edges
+     * are painted with multiple unscaled blits.
+     */
+    private static final int TILE_LENGTH = 64;
+
+    /**
+     * Maps GraphicsConfigurations to the pre-composed shadow tiles.
+     * Holds the configurations weakly. Synchronized on itself.
+     */
+    private static final Map<GraphicsConfiguration, ShadowTiles> TILES =
+        new WeakHashMap<>();
+
 	/**
 	 * The singleton instance used to draw all borders.
 	 */
@@ -68,6 +95,9 @@ final class ShadowPopupBorder extends AbstractBorder {
 	private static Image shadow
 		= new ImageIcon(ShadowPopupBorder.class.getResource("shadow.png")).getImage();
 
+    private static final PaintStatistics.Probe PAINT_PROBE =
+        PaintStatistics.createProbe("ShadowPopupBorder.paintBorder");
+
 
     // Instance Creation *****************************************************
 
@@ -85,6 +115,7 @@ final class ShadowPopupBorder extends AbstractBorder {
 	 */
 	@Override
     public void paintBorder(Component c, Graphics g, int x, int y, int width, int height) {
+		long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
 		// fake drop shadow effect in case of heavy weight popups
         JComponent popup = (JComponent) c;
         Image hShadowBg = (Image) popup.getClientProperty(ShadowPopupFactory.PROP_HORIZONTAL_BACKGROUND);
@@ -97,11 +128,22 @@ final class ShadowPopupBorder extends AbstractBorder {
         }
 
 		// draw drop shadow
-		g.drawImage(shadow, x +  5, y + height - 5, x + 10, y + height, 0, 6, 5, 11, null, c);
-		g.drawImage(shadow, x + 10, y + height - 5, x + width - 5, y + height, 5, 6, 6, 11, null, c);
-		g.drawImage(shadow, x + width - 5, y + 5, x + width, y + 10, 6, 0, 11, 5, null, c);
-		g.drawImage(shadow, x + width - 5, y + 10, x + width, y + height - 5, 6, 5, 11, 6, null, c);
-		g.drawImage(shadow, x + width - 5, y + height - 5, x + width, y + height, 6, 6, 11, 11, null, c);
+		ShadowTiles tiles = g instanceof Graphics2D
+		        && width >= 3 * SHADOW_SIZE && height >= 3 * SHADOW_SIZE
+		    ? getTiles(((Graphics2D) g).getDeviceConfiguration())
+		    : null;
+		if (tiles != null) {
+		    tiles.paint(g, x, y, width, height);
+		} else {
+		    g.drawImage(shadow, x +  5, y + height - 5, x + 10, y + height, 0, 6, 5, 11, null, c);
+		    g.drawImage(shadow, x + 10, y + height - 5, x + width - 5, y + height, 5, 6, 6, 11, null, c);
+		    g.drawImage(shadow, x + width - 5, y + 5, x + width, y + 10, 6, 0, 11, 5, null, c);
+		    g.drawImage(shadow, x + width - 5, y + 10, x + width, y + height - 5, 6, 5, 11, 6, null, c);
+		    g.drawImage(shadow, x + width - 5, y + height - 5, x + width, y + height, 6, 6, 11, 11, null, c);
+		}
+		if (PaintStatistics.ENABLED) {
+			PAINT_PROBE.record(start);
+		}
 	}
 
 
@@ -110,7 +152,7 @@ final class ShadowPopupBorder extends AbstractBorder {
 	 */
 	@Override
     public Insets getBorderInsets(Component c) {
-		return new Insets(0, 0, SHADOW_SIZE, SHADOW_SIZE);
+		return INSETS;
 	}
 
 
@@ -127,4 +169,96 @@ final class ShadowPopupBorder extends AbstractBorder {
         return insets;
     }
 
+
+    // Pre-composed Tiles *****************************************************
+
+    /**
+     * Pre-composes the shadow tiles for the default configurations
+     * of all screen devices, so the first popup needn't do it.
+     * Invoked when the ShadowPopupFactory is installed.
+     */
+    static void precomposeTiles() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return;
+        }
+        for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            getTiles(device.getDefaultConfiguration());
+        }
+    }
+
+
+    /**
+     * Looks up and returns the shadow tiles for the given configuration,
+     * creates them if necessary.
+     *
+     * @param gc   the GraphicsConfiguration to get the tiles for
+     * @return the shadow tiles for the given configuration,
+     *     or null if {@code gc} is null
+     */
+    private static ShadowTiles getTiles(GraphicsConfiguration gc) {
+        if (gc == null) {
+            return null;
+        }
+        synchronized (TILES) {
+            ShadowTiles tiles = TILES.get(gc);
+            if (tiles == null) {
+                tiles = new ShadowTiles(gc);
+                TILES.put(gc, tiles);
+            }
+            return tiles;
+        }
+    }
+
+
+    /**
+     * Holds the shadow corners and edges pre-composed into images
+     * compatible with a GraphicsConfiguration. The edges are repeated
+     * up to {@link #TILE_LENGTH}, so the border can be painted
+     * with unscaled blits only.
+     */
+    private static final class ShadowTiles {
+
+        private final Image bottomLeft;
+        private final Image bottom;
+        private final Image topRight;
+        private final Image right;
+        private final Image bottomRight;
+
+        ShadowTiles(GraphicsConfiguration gc) {
+            bottomLeft  = createTile(gc, SHADOW_SIZE, SHADOW_SIZE, 0, 6,  5, 11);
+            bottom      = createTile(gc, TILE_LENGTH, SHADOW_SIZE, 5, 6,  6, 11);
+            topRight    = createTile(gc, SHADOW_SIZE, SHADOW_SIZE, 6, 0, 11,  5);
+            right       = createTile(gc, SHADOW_SIZE, TILE_LENGTH, 6, 5, 11,  6);
+            bottomRight = createTile(gc, SHADOW_SIZE, SHADOW_SIZE, 6, 6, 11, 11);
+        }
+
+        private static Image createTile(GraphicsConfiguration gc, int w, int h,
+                int sx1, int sy1, int sx2, int sy2) {
+            BufferedImage tile = gc.createCompatibleImage(w, h, Transparency.TRANSLUCENT);
+            Graphics2D g2 = tile.createGraphics();
+            g2.setComposite(AlphaComposite.Src);
+            g2.drawImage(shadow, 0, 0, w, h, sx1, sy1, sx2, sy2, null);
+            g2.dispose();
+            return tile;
+        }
+
+        void paint(Graphics g, int x, int y, int width, int height) {
+            int rightX  = x + width  - SHADOW_SIZE;
+            int bottomY = y + height - SHADOW_SIZE;
+            g.drawImage(bottomLeft, x + SHADOW_SIZE, bottomY, null);
+            for (int tx = x + 2 * SHADOW_SIZE; tx < rightX; tx += TILE_LENGTH) {
+                int w = Math.min(TILE_LENGTH, rightX - tx);
+                g.drawImage(bottom, tx, bottomY, tx + w, bottomY + SHADOW_SIZE,
+                        0, 0, w, SHADOW_SIZE, null);
+            }
+            g.drawImage(topRight, rightX, y + SHADOW_SIZE, null);
+            for (int ty = y + 2 * SHADOW_SIZE; ty < bottomY; ty += TILE_LENGTH) {
+                int h = Math.min(TILE_LENGTH, bottomY - ty);
+                g.drawImage(right, rightX, ty, rightX + SHADOW_SIZE, ty + h,
+                        0, 0, SHADOW_SIZE, h, null);
+            }
+            g.drawImage(bottomRight, rightX, bottomY, null);
+        }
+    }
+
 }
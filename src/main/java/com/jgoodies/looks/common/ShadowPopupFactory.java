@@ -31,6 +31,9 @@
 package com.jgoodies.looks.common;
 
 import java.awt.Component;
+import java.awt.GraphicsDevice;
+import java.awt.GraphicsDevice.WindowTranslucency;
+import java.awt.GraphicsEnvironment;
 
 import javax.swing.LookAndFeel;
 import javax.swing.Popup;
@@ -38,6 +41,7 @@ import javax.swing.PopupFactory;
 
 import com.jgoodies.common.base.SystemUtils;
 import com.jgoodies.looks.Options;
+import com.jgoodies.looks.common.PopupStatistics.Operation;
 
 
 /**
@@ -57,6 +61,9 @@ import com.jgoodies.looks.Options;
  * {@code readDisplayPixels}. The reason for it is, that in the case of
  * the heavy weight popups this PopupFactory uses a Robot to snapshot
  * the screen background to simulate the drop shadow effect.
+ * If the screen device supports per-pixel translucent windows,
+ * heavy weight popups are made translucent and no Robot is used,
+ * see {@link #isTranslucentPopupSupported(GraphicsDevice)}.
  *
  * @author Karsten Lentzsch
  * @version $Revision: 1.8 $
@@ -74,7 +81,7 @@ public final class ShadowPopupFactory extends PopupFactory {
      * will be stored as client properties of the popup contents' parent.
      * These snapshots will be used by the popup border to simulate the drop
      * shadow effect. The two following constants define the names of
-     * these client properties.
+     * these client properties. Not used for translucent popups.
      *
      * @see com.jgoodies.looks.common.ShadowPopupBorder
      */
@@ -123,6 +130,7 @@ public final class ShadowPopupFactory extends PopupFactory {
         }
 
         PopupFactory.setSharedInstance(new ShadowPopupFactory(factory));
+        ShadowPopupBorder.precomposeTiles();
     }
 
     /**
@@ -142,6 +150,24 @@ public final class ShadowPopupFactory extends PopupFactory {
     }
 
 
+    /**
+     * Checks and answers whether heavy weight popups on the given device
+     * are made per-pixel translucent, so that their drop shadow is painted
+     * with alpha instead of painting a snapshot of the screen background.
+     *
+     * @param device   the screen device to check, may be null
+     * @return true if the device supports per-pixel translucent windows,
+     *     false if it doesn't, if it is null, or if the environment is headless
+     *
+     * @since 2.9
+     */
+    public static boolean isTranslucentPopupSupported(GraphicsDevice device) {
+        return device != null
+            && !GraphicsEnvironment.isHeadless()
+            && device.isWindowTranslucencySupported(WindowTranslucency.PERPIXEL_TRANSLUCENT);
+    }
+
+
     /**
      * Creates a {@code Popup} for the Component {@code owner}
      * containing the Component {@code contents}. In addition to
@@ -173,10 +199,15 @@ public final class ShadowPopupFactory extends PopupFactory {
      */
     @Override
     public Popup getPopup(Component owner, Component contents, int x, int y) {
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
         Popup popup = super.getPopup(owner, contents, x, y);
-        return Options.isPopupDropShadowActive()
-            ? ShadowPopup.getInstance(owner, contents, x, y, popup)
-            : popup;
+        if (Options.isPopupDropShadowActive()) {
+            popup = ShadowPopup.getInstance(owner, contents, x, y, popup);
+        }
+        if (PaintStatistics.ENABLED) {
+            PopupStatistics.record(Operation.GET_POPUP, contents, start);
+        }
+        return popup;
     }
 
 }
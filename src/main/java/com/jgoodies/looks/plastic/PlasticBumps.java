@@ -40,11 +40,16 @@ import java.awt.Image;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBuffer;
 import java.awt.image.IndexColorModel;
-import java.util.ArrayList;
-import java.util.List;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.swing.Icon;
 
+import com.jgoodies.looks.common.CacheStatistics;
+
 /**
  * Creates, adjusts and paints the bumps used in the JGoodies Plastic L&amp;Fs.
  *
@@ -53,7 +58,42 @@ import javax.swing.Icon;
  */
 final class PlasticBumps implements Icon {
 
-    private static final List<BumpBuffer> BUFFERS = new ArrayList<>();
+    /**
+     * The maximum number of bump buffers shared by all bumps.
+     */
+    static final int MAX_BUFFERS = 32;
+
+    /**
+     * Receives the keys whose GraphicsConfiguration has been collected.
+     */
+    private static final ReferenceQueue<GraphicsConfiguration> STALE_KEYS =
+        new ReferenceQueue<>();
+
+    /**
+     * Maps GraphicsConfiguration and colors to the shared bump buffers
+     * in least recently used order. Synchronized on itself.
+     */
+    private static final Map<BufferKey, BumpBuffer> BUFFERS =
+        new LinkedHashMap<BufferKey, BumpBuffer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<BufferKey, BumpBuffer> eldest) {
+                if (size() <= MAX_BUFFERS) {
+                    return false;
+                }
+                STATISTICS.recordEviction();
+                return true;
+            }
+        };
+
+    static final CacheStatistics STATISTICS = CacheStatistics.register(
+        new CacheStatistics("PlasticBumps", MAX_BUFFERS) {
+            @Override
+            public int getSize() {
+                synchronized (BUFFERS) {
+                    return BUFFERS.size();
+                }
+            }
+        });
 
     private int xBumps;
 	private int yBumps;
@@ -131,23 +171,108 @@ final class PlasticBumps implements Icon {
                 && buffer.hasSameConfiguration(gc, aTopColor, aShadowColor, aBackColor)) {
                 return buffer;
             }
-            BumpBuffer result = null;
-            for (Object element : BUFFERS) {
-                BumpBuffer aBuffer = (BumpBuffer) element;
-                if (aBuffer.hasSameConfiguration(gc, aTopColor, aShadowColor, aBackColor)) {
-                    result = aBuffer;
-                    break;
+            BufferKey key = new BufferKey(gc, aTopColor, aShadowColor, aBackColor);
+            synchronized (BUFFERS) {
+                expungeStaleBuffers();
+                BumpBuffer result = BUFFERS.get(key);
+                if (result != null) {
+                    STATISTICS.recordHit();
+                    return result;
                 }
+                STATISTICS.recordMiss();
+                result = new BumpBuffer(key, gc);
+                BUFFERS.put(key, result);
+                return result;
             }
-            if (result == null) {
-                result = new BumpBuffer(gc, topColor, shadowColor, backColor);
-                BUFFERS.add(result);
+        }
+
+
+    /**
+     * Removes the buffers whose GraphicsConfiguration has been
+     * garbage collected. Invoked while holding the lock on BUFFERS.
+     */
+    private static void expungeStaleBuffers() {
+        Reference<? extends GraphicsConfiguration> staleKey;
+        while ((staleKey = STALE_KEYS.poll()) != null) {
+            if (BUFFERS.remove(staleKey) != null) {
+                STATISTICS.recordEviction();
             }
-            return result;
+        }
+    }
+
+
+    // Helper Classes *********************************************************
+
+    /**
+     * Identifies a bump buffer by its colors and GraphicsConfiguration.
+     * Holds the GraphicsConfiguration weakly, so buffers for screens that
+     * have been removed can be expunged. A key whose configuration
+     * has been collected is equal only to itself.
+     */
+    private static final class BufferKey extends WeakReference<GraphicsConfiguration> {
+
+        private final boolean hasConfiguration;
+        private final Color topColor;
+        private final Color shadowColor;
+        private final Color backColor;
+        private final int hash;
+
+        BufferKey(
+            GraphicsConfiguration gc,
+            Color aTopColor,
+            Color aShadowColor,
+            Color aBackColor) {
+            super(gc, STALE_KEYS);
+            hasConfiguration = gc != null;
+            topColor = aTopColor;
+            shadowColor = aShadowColor;
+            backColor = aBackColor;
+            int h = gc == null ? 0 : gc.hashCode();
+            h = 31 * h + aTopColor.hashCode();
+            h = 31 * h + aShadowColor.hashCode();
+            hash = 31 * h + aBackColor.hashCode();
         }
 
+        boolean matches(
+            GraphicsConfiguration aGC,
+            Color aTopColor,
+            Color aShadowColor,
+            Color aBackColor) {
+            if (hasConfiguration) {
+                if (aGC == null || !aGC.equals(get())) {
+                    return false;
+                }
+            } else if (aGC != null) {
+                return false;
+            }
+            return topColor.equals(aTopColor)
+                && shadowColor.equals(aShadowColor)
+                && backColor.equals(aBackColor);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BufferKey)) {
+                return false;
+            }
+            GraphicsConfiguration gc = get();
+            if (hasConfiguration && gc == null) {
+                return false;
+            }
+            BufferKey other = (BufferKey) o;
+            return hash == other.hash
+                && other.matches(gc, topColor, shadowColor, backColor);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 
-    // Helper Class ***********************************************************
 
 	private static final class BumpBuffer {
 
@@ -155,21 +280,17 @@ final class PlasticBumps implements Icon {
 	    private static Dimension imageSize = new Dimension(IMAGE_SIZE, IMAGE_SIZE);
 
 	    transient Image image;
+	    private final BufferKey key;
 	    private final Color topColor;
 	    private final Color shadowColor;
 	    private final Color backColor;
-	    private final GraphicsConfiguration gc;
 
-	    BumpBuffer(
-	        GraphicsConfiguration gc,
-	        Color aTopColor,
-	        Color aShadowColor,
-	        Color aBackColor) {
-	        this.gc = gc;
-	        topColor = aTopColor;
-	        shadowColor = aShadowColor;
-	        backColor = aBackColor;
-	        createImage();
+	    BumpBuffer(BufferKey key, GraphicsConfiguration gc) {
+	        this.key = key;
+	        topColor = key.topColor;
+	        shadowColor = key.shadowColor;
+	        backColor = key.backColor;
+	        createImage(gc);
 	        fillBumpBuffer();
 	    }
 
@@ -179,16 +300,7 @@ final class PlasticBumps implements Icon {
 	        Color aTopColor,
 	        Color aShadowColor,
 	        Color aBackColor) {
-	        if (gc != null) {
-	            if (!gc.equals(aGC)) {
-	                return false;
-	            }
-	        } else if (aGC != null) {
-	            return false;
-	        }
-	        return topColor.equals(aTopColor)
-	            && shadowColor.equals(aShadowColor)
-	            && backColor.equals(aBackColor);
+	        return key.matches(aGC, aTopColor, aShadowColor, aBackColor);
 	    }
 
 
@@ -234,7 +346,7 @@ final class PlasticBumps implements Icon {
 	     * Creates the image appropriate for the passed in
 	     * {@code GraphicsConfiguration}, which may be null.
 	     */
-	    private void createImage() {
+	    private void createImage(GraphicsConfiguration gc) {
 	        if (gc != null) {
 	            image = gc.createCompatibleImage(IMAGE_SIZE, IMAGE_SIZE);
 	        } else {
@@ -43,6 +43,8 @@ import javax.swing.UIManager;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.metal.MetalButtonUI;
 
+import com.jgoodies.looks.common.PaintStatistics;
+
 /**
  * The JGoodies Plastic L&amp;F implementation of {@code ButtonUI}.
  * It differs from the superclass {@code MetalButtonUI} in that
@@ -55,6 +57,9 @@ public class PlasticButtonUI extends MetalButtonUI {
 
     private static final PlasticButtonUI INSTANCE = new PlasticButtonUI();
 
+    private static final PaintStatistics.Probe UPDATE_PROBE =
+        PaintStatistics.createProbe("PlasticButtonUI.update");
+
     private boolean borderPaintsFocus;
 
     public static ComponentUI createUI(JComponent b) {
@@ -76,6 +81,7 @@ public class PlasticButtonUI extends MetalButtonUI {
 
     @Override
     public void update(Graphics g, JComponent c) {
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
         if (c.isOpaque()) {
             AbstractButton b = (AbstractButton) c;
             if (isToolBarButton(b)) {
@@ -96,6 +102,9 @@ public class PlasticButtonUI extends MetalButtonUI {
             }
         }
         paint(g, c);
+        if (PaintStatistics.ENABLED) {
+            UPDATE_PROBE.record(start);
+        }
     }
 
     /**
@@ -323,7 +323,9 @@ public class PlasticLookAndFeel extends MetalLookAndFeel {
 
     /**
      * Invoked during {@code UIManager#setLookAndFeel}. In addition
-     * to the superclass behavior, we install the ShadowPopupFactory.
+     * to the superclass behavior, we install the ShadowPopupFactory
+     * and discard the cached 3D effect gradients and check icon images
+     * that depend on the UIDefaults about to be installed.
      *
      * @see #uninitialize
      */
@@ -331,6 +333,8 @@ public class PlasticLookAndFeel extends MetalLookAndFeel {
     public void initialize() {
         super.initialize();
         ShadowPopupFactory.install();
+        PlasticUtils.invalidate3DEffects();
+        PlasticXPIconFactory.invalidateIconImages();
     }
 
 
@@ -904,7 +908,9 @@ public class PlasticLookAndFeel extends MetalLookAndFeel {
      */
     public static void setPlasticTheme(PlasticTheme theme) {
         checkNotNull(theme, MUST_NOT_BE_NULL, "theme");
+        theme.compilePalette();
         setCurrentTheme(theme);
+        PlasticUtils.invalidate3DEffects();
     }
 
 
@@ -959,6 +965,15 @@ public class PlasticLookAndFeel extends MetalLookAndFeel {
 		return getPlasticTheme().getFocusColor();
 	}
 
+	/**
+	 * Returns the colors derived from the current theme's colors.
+	 *
+	 * @return the current theme's compiled palette
+	 */
+	static PlasticPalette getPalette() {
+		return getPlasticTheme().getPalette();
+	}
+
 	public static ColorUIResource getMenuItemBackground() {
 		return getPlasticTheme().getMenuItemBackground();
 	}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.awt.Color;
+
+import com.jgoodies.looks.LookUtils;
+
+/**
+ * An immutable set of the colors that the Plastic paint code derives
+ * from a {@link PlasticTheme}: brightened variants and translucent
+ * copies of the theme colors. Compiled once per theme, so painting
+ * doesn't allocate these colors over and over again.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PlasticTheme#getPalette()
+ *
+ * @since 2.9
+ */
+final class PlasticPalette {
+
+    // Theme Colors ***********************************************************
+
+    final Color control;
+    final Color controlShadow;
+    final Color controlDarkShadow;
+    final Color controlHighlight;
+    final Color focusColor;
+
+
+    // Derived Colors *********************************************************
+
+    /**
+     * The control highlight brightened by {@link Color#brighter()}.
+     */
+    final Color controlHighlightBrighter;
+
+    /**
+     * The focus color brightened by {@link Color#brighter()}.
+     */
+    final Color focusColorBrighter;
+
+    /**
+     * The corner color of enabled xp buttons.
+     */
+    final Color buttonCorner;
+
+    /**
+     * The corner color of disabled xp buttons.
+     */
+    final Color disabledButtonCorner;
+
+    final Color pressedButtonShadow;
+    final Color pressedButtonHighlight;
+
+    final Color defaultButtonLight;
+    final Color defaultButtonMedium;
+    final Color defaultButtonDark;
+
+    final Color focusedButtonLight;
+    final Color focusedButtonMedium;
+    final Color focusedButtonDark;
+
+
+    // Instance Creation ******************************************************
+
+    PlasticPalette(PlasticTheme theme) {
+        control           = theme.getControl();
+        controlShadow     = theme.getControlShadow();
+        controlDarkShadow = theme.getControlDarkShadow();
+        controlHighlight  = theme.getControlHighlight();
+        focusColor        = theme.getFocusColor();
+
+        controlHighlightBrighter = controlHighlight.brighter();
+        focusColorBrighter       = focusColor.brighter();
+        buttonCorner             = LookUtils.getSlightlyBrighter(controlDarkShadow, 1.25f);
+        disabledButtonCorner     = LookUtils.getSlightlyBrighter(controlShadow);
+
+        pressedButtonShadow    = translucentColor(controlDarkShadow, 128);
+        pressedButtonHighlight = translucentColor(controlHighlight,   80);
+
+        Color primaryControlDarkShadow = theme.getPrimaryControlDarkShadow();
+        defaultButtonLight  = translucentColor(primaryControlDarkShadow,  90);
+        defaultButtonMedium = translucentColor(primaryControlDarkShadow, 120);
+        defaultButtonDark   = translucentColor(primaryControlDarkShadow, 200);
+
+        focusedButtonLight  = translucentColor(focusColor,  90);
+        focusedButtonMedium = translucentColor(focusColor, 120);
+        focusedButtonDark   = translucentColor(focusColor, 200);
+    }
+
+
+    // Helper Code ************************************************************
+
+    /**
+     * Returns a color that is a translucent copy of the given color.
+     *
+     * @param baseColor     the base color
+     * @param alpha         the alpha value
+     * @return the translucent color with specified alpha
+     */
+    private static Color translucentColor(Color baseColor, int alpha) {
+        return new Color(baseColor.getRed(),
+                          baseColor.getGreen(),
+                          baseColor.getBlue(),
+                          alpha);
+    }
+
+}
@@ -30,15 +30,32 @@
 
 package com.jgoodies.looks.plastic;
 
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Insets;
+import java.awt.LayoutManager;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
 import javax.swing.BoxLayout;
 import javax.swing.JComponent;
 import javax.swing.LookAndFeel;
+import javax.swing.MenuElement;
+import javax.swing.MenuSelectionManager;
+import javax.swing.Timer;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicPopupMenuUI;
+import javax.swing.plaf.metal.MetalLookAndFeel;
 
 import com.jgoodies.looks.Options;
 import com.jgoodies.looks.common.PopupMenuLayout;
@@ -50,16 +67,35 @@ import com.jgoodies.looks.common.PopupMenuLayout;
  * {@link Options#NO_MARGIN_KEY} to indicate that this popup menu
  * has a border without margin. That is useful in the special case
  * where the popup contains only a single component, for example
- * a JScrollPane.
+ * a JScrollPane.<p>
+ *
+ * Since 2.9 popup menus with many items can scroll. If the client property
+ * {@link Options#POPUP_MENU_VISIBLE_ROW_COUNT_KEY} is set, this UI paints
+ * scroll arrows above and below the visible items, scrolls while the mouse
+ * hovers over an arrow, on mouse wheel rotation, and if the keyboard
+ * selection moves to an item that is not visible.
  *
  * @author  Karsten Lentzsch
  * @version $Revision: 1.10 $
  *
  * @see	com.jgoodies.looks.Options#NO_MARGIN_KEY
+ * @see	com.jgoodies.looks.Options#POPUP_MENU_VISIBLE_ROW_COUNT_KEY
  */
 public final class PlasticPopupMenuUI extends BasicPopupMenuUI {
 
+    /**
+     * The delay in milliseconds between scroll steps
+     * while the mouse hovers over a scroll arrow.
+     */
+    private static final int SCROLL_DELAY = 60;
+
+    /**
+     * The number of rows to scroll per mouse wheel unit.
+     */
+    private static final int WHEEL_ROWS = 3;
+
     private PropertyChangeListener borderListener;
+    private ScrollHandler scrollHandler;
 
 	public static ComponentUI createUI(JComponent b) {
 		return new PlasticPopupMenuUI();
@@ -81,14 +117,50 @@ public final class PlasticPopupMenuUI extends BasicPopupMenuUI {
         super.installListeners();
         borderListener = new BorderStyleChangeHandler();
         popupMenu.addPropertyChangeListener(Options.NO_MARGIN_KEY, borderListener);
+        scrollHandler = new ScrollHandler();
+        popupMenu.addMouseListener(scrollHandler);
+        popupMenu.addMouseMotionListener(scrollHandler);
+        popupMenu.addMouseWheelListener(scrollHandler);
+        popupMenu.addPopupMenuListener(scrollHandler);
     }
 
     @Override
     protected void uninstallListeners() {
         popupMenu.removePropertyChangeListener(Options.NO_MARGIN_KEY, borderListener);
+        popupMenu.removeMouseListener(scrollHandler);
+        popupMenu.removeMouseMotionListener(scrollHandler);
+        popupMenu.removeMouseWheelListener(scrollHandler);
+        popupMenu.removePopupMenuListener(scrollHandler);
+        MenuSelectionManager.defaultManager().removeChangeListener(scrollHandler);
+        scrollHandler.stop();
+        scrollHandler = null;
         super.uninstallListeners();
     }
 
+
+    /**
+     * Paints the scroll arrows if the popup menu is in scrolling mode.
+     *
+     * @param g   the Graphics to paint on
+     * @param c   the popup menu to paint
+     */
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        super.paint(g, c);
+        PopupMenuLayout layout = getScrollingLayout();
+        if (layout == null) {
+            return;
+        }
+        Insets insets = c.getInsets();
+        int width = c.getWidth() - insets.left - insets.right;
+        int height = PopupMenuLayout.SCROLL_AREA_HEIGHT;
+        paintScrollArrow(g, insets.left, insets.top, width, height,
+                true, layout.canScrollUp(c));
+        paintScrollArrow(g, insets.left, c.getHeight() - insets.bottom - height,
+                width, height, false, layout.canScrollDown(c));
+    }
+
+
     // Narrow Border **********************************************************
 
     private final class BorderStyleChangeHandler implements PropertyChangeListener {
@@ -112,4 +184,183 @@ public final class PlasticPopupMenuUI extends BasicPopupMenuUI {
     }
 
 
+    // Scrolling **************************************************************
+
+    /**
+     * Returns this popup menu's layout if it is in scrolling mode,
+     * {@code null} otherwise.
+     */
+    private PopupMenuLayout getScrollingLayout() {
+        LayoutManager layout = popupMenu.getLayout();
+        if (!(layout instanceof PopupMenuLayout)) {
+            return null;
+        }
+        PopupMenuLayout popupMenuLayout = (PopupMenuLayout) layout;
+        return popupMenuLayout.isScrolling(popupMenu) ? popupMenuLayout : null;
+    }
+
+
+    /**
+     * Paints a 9x5 arrow centered in the given scroll area
+     * the same way as the Plastic tabbed pane scroll buttons.
+     */
+    private static void paintScrollArrow(Graphics g, int x, int y, int w, int h,
+            boolean up, boolean enabled) {
+        Color oldColor = g.getColor();
+        g.setColor(enabled ? MetalLookAndFeel.getControlInfo()
+                           : MetalLookAndFeel.getControlDisabled());
+        int ax = x + (w - 9) / 2;
+        int ay = y + (h - 5) / 2;
+        for (int i = 0; i < 5; i++) {
+            int row = up ? 4 - i : i;
+            g.fillRect(ax + i, ay + row, 9 - 2 * i, 1);
+        }
+        g.setColor(oldColor);
+    }
+
+
+    /**
+     * Scrolls the popup menu while the mouse hovers over a scroll area,
+     * on mouse wheel rotation and if the selection moves to an item
+     * that is not visible. Listens to the menu selection only
+     * while the popup menu is visible.
+     */
+    private final class ScrollHandler extends MouseAdapter
+        implements ActionListener, ChangeListener, PopupMenuListener {
+
+        private final Timer timer;
+        private int direction;
+
+        ScrollHandler() {
+            timer = new Timer(SCROLL_DELAY, this);
+            timer.setInitialDelay(SCROLL_DELAY);
+        }
+
+        // Mouse Hover and Wheel
+
+        @Override
+        public void mouseEntered(MouseEvent e) {
+            updateDirection(e.getY());
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            updateDirection(e.getY());
+        }
+
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            updateDirection(e.getY());
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            stop();
+        }
+
+        @Override
+        public void mouseWheelMoved(MouseWheelEvent e) {
+            if (scroll(e.getWheelRotation() * WHEEL_ROWS)) {
+                e.consume();
+            }
+        }
+
+        @Override
+        public void actionPerformed(ActionEvent e) {
+            if (!scroll(direction)) {
+                stop();
+            }
+        }
+
+        private void updateDirection(int y) {
+            PopupMenuLayout layout = getScrollingLayout();
+            int newDirection = 0;
+            if (layout != null) {
+                Insets insets = popupMenu.getInsets();
+                int height = PopupMenuLayout.SCROLL_AREA_HEIGHT;
+                if (y < insets.top + height) {
+                    newDirection = -1;
+                } else if (y >= popupMenu.getHeight() - insets.bottom - height) {
+                    newDirection = 1;
+                }
+            }
+            if (newDirection == 0) {
+                stop();
+            } else if (newDirection != direction || !timer.isRunning()) {
+                direction = newDirection;
+                timer.restart();
+            }
+        }
+
+        void stop() {
+            timer.stop();
+            direction = 0;
+        }
+
+        private boolean scroll(int rows) {
+            PopupMenuLayout layout = getScrollingLayout();
+            if (layout == null || !layout.scrollBy(popupMenu, rows)) {
+                return false;
+            }
+            scrolled();
+            return true;
+        }
+
+        /**
+         * Repaints the popup menu after it has been scrolled. Re-packs it
+         * instead, if an item scrolled into view is wider than the others.
+         */
+        private void scrolled() {
+            if (popupMenu.getPreferredSize().width > popupMenu.getWidth()) {
+                popupMenu.pack();
+            } else {
+                popupMenu.repaint();
+            }
+        }
+
+        // Selection
+
+        @Override
+        public void stateChanged(ChangeEvent e) {
+            PopupMenuLayout layout = getScrollingLayout();
+            if (layout == null) {
+                return;
+            }
+            MenuElement[] path = MenuSelectionManager.defaultManager().getSelectedPath();
+            for (MenuElement element : path) {
+                if (element.getComponent().getParent() == popupMenu) {
+                    int index = popupMenu.getComponentIndex(element.getComponent());
+                    if (layout.scrollToVisible(popupMenu, index)) {
+                        scrolled();
+                    }
+                    return;
+                }
+            }
+        }
+
+        // Popup Visibility
+
+        @Override
+        public void popupMenuWillBecomeVisible(PopupMenuEvent e) {
+            LayoutManager layout = popupMenu.getLayout();
+            if (layout instanceof PopupMenuLayout) {
+                ((PopupMenuLayout) layout).resetScrollPosition();
+            }
+            MenuSelectionManager.defaultManager().addChangeListener(this);
+        }
+
+        @Override
+        public void popupMenuWillBecomeInvisible(PopupMenuEvent e) {
+            MenuSelectionManager.defaultManager().removeChangeListener(this);
+            stop();
+        }
+
+        @Override
+        public void popupMenuCanceled(PopupMenuEvent e) {
+            // Handled in #popupMenuWillBecomeInvisible.
+        }
+
+    }
+
+
 }
@@ -41,6 +41,8 @@ import javax.swing.UIManager;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.metal.MetalScrollBarUI;
 
+import com.jgoodies.looks.common.PaintStatistics;
+
 
 /**
  * The JGoodies Plastic L&amp;F implementation of {@code ScrollBarUI}.
@@ -56,6 +58,12 @@ public final class PlasticScrollBarUI extends MetalScrollBarUI {
 	private static final String PROPERTY_PREFIX	  = "ScrollBar.";
 	public  static final String MAX_BUMPS_WIDTH_KEY = PROPERTY_PREFIX + "maxBumpsWidth";
 
+    private static final PaintStatistics.Probe TRACK_PROBE =
+        PaintStatistics.createProbe("PlasticScrollBarUI.paintTrack");
+
+    private static final PaintStatistics.Probe THUMB_PROBE =
+        PaintStatistics.createProbe("PlasticScrollBarUI.paintThumb");
+
     private Color shadowColor;
     private Color highlightColor;
     private Color darkShadowColor;
@@ -106,6 +114,7 @@ public final class PlasticScrollBarUI extends MetalScrollBarUI {
 
 	@Override
     protected void paintTrack(Graphics g, JComponent c, Rectangle trackBounds) {
+		long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
 		g.translate(trackBounds.x, trackBounds.y);
 
 		boolean leftToRight = PlasticUtils.isLeftToRight(c);
@@ -182,6 +191,9 @@ public final class PlasticScrollBarUI extends MetalScrollBarUI {
 			}
 		}
 		g.translate(-trackBounds.x, -trackBounds.y);
+		if (PaintStatistics.ENABLED) {
+			TRACK_PROBE.record(start);
+		}
 	}
 
 
@@ -190,6 +202,7 @@ public final class PlasticScrollBarUI extends MetalScrollBarUI {
 		if (!c.isEnabled()) {
 			return;
 		}
+		long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
 
 		boolean leftToRight = PlasticUtils.isLeftToRight(c);
 
@@ -252,7 +265,9 @@ public final class PlasticScrollBarUI extends MetalScrollBarUI {
 		if (PlasticUtils.is3D(PROPERTY_PREFIX)) {
             paintThumb3D(g, thumbBounds);
         }
-
+		if (PaintStatistics.ENABLED) {
+			THUMB_PROBE.record(start);
+		}
 	}
 
 
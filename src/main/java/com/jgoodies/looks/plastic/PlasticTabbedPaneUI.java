@@ -47,6 +47,8 @@ import java.awt.Shape;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
@@ -72,6 +74,7 @@ import javax.swing.plaf.metal.MetalTabbedPaneUI;
 import javax.swing.text.View;
 
 import com.jgoodies.looks.Options;
+import com.jgoodies.looks.common.PaintStatistics;
 
 /**
  * The JGoodies Plastic Look&amp;Feel implementation of
@@ -119,6 +122,12 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
      */
     private static boolean isTabIconsEnabled = Options.isTabIconsEnabled();
 
+    private static final PaintStatistics.Probe PAINT_PROBE =
+        PaintStatistics.createProbe("PlasticTabbedPaneUI.paint");
+
+    private static final PaintStatistics.Probe PAINT_TAB_PROBE =
+        PaintStatistics.createProbe("PlasticTabbedPaneUI.paintTab");
+
     /**
      * Describes if we paint no content border or not; is false by default.
      * You can disable the content border by setting the client property
@@ -143,6 +152,35 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
     /** For use when tabLayoutPolicy == SCROLL_TAB_LAYOUT. */
     private ScrollableTabSupport tabScroller;
 
+    /**
+     * Finds the tab at a coordinate; rebuilt after the tab rects
+     * have been calculated.
+     */
+    private final TabHitIndex tabHitIndex = new TabHitIndex();
+
+    /**
+     * Holds the measured tab sizes and label layouts per tab index,
+     * so that layout and paint re-measure only the tabs that have changed.
+     */
+    private TabMeasurement[] tabMeasurements = new TabMeasurement[0];
+
+    /**
+     * The font metrics used to paint the tabs, requested once
+     * per #paintTabArea instead of once per tab.
+     */
+    private FontMetrics tabAreaMetrics;
+
+    /**
+     * Holds the torn-edge clip and edge image of the tab that is cropped
+     * at the end of the viewport in the scroll tab layout.
+     */
+    private CroppedTabEdge croppedTabEdge;
+
+    /**
+     * Scratch rectangle used in #layoutLabel.
+     */
+    private final Rectangle calcRectangle = new Rectangle();
+
     /**
      * Creates the {@code PlasticTabbedPaneUI}.
      *
@@ -307,6 +345,7 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
      @Override
     public void paint(Graphics g, JComponent c) {
+         long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
          int selectedIndex = tabPane.getSelectedIndex();
          int tabPlacement = tabPane.getTabPlacement();
 
@@ -322,16 +361,20 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
          // Paint content border
          paintContentBorder(g, tabPlacement, selectedIndex);
+         if (PaintStatistics.ENABLED) {
+             PAINT_PROBE.record(start);
+         }
      }
 
      @Override
     protected void paintTab(Graphics g, int tabPlacement, Rectangle[] rects,
              int tabIndex, Rectangle iconRect, Rectangle textRect) {
+         long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
          Rectangle tabRect = rects[tabIndex];
          int selectedIndex = tabPane.getSelectedIndex();
          boolean isSelected = selectedIndex == tabIndex;
          Graphics2D g2 = null;
-         Polygon cropShape = null;
+         CroppedTabEdge cropShape = null;
          Shape save = null;
          int cropx = 0;
          int cropy = 0;
@@ -349,7 +392,7 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                      cropline = viewRect.y + viewRect.height;
                      if (tabRect.y < cropline
                              && tabRect.y + tabRect.height > cropline) {
-                         cropShape = createCroppedTabClip(tabPlacement, tabRect,
+                         cropShape = getCroppedTabClip(tabPlacement, tabRect,
                                  cropline);
                          cropx = tabRect.x;
                          cropy = cropline - 1;
@@ -361,7 +404,7 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                      cropline = viewRect.x + viewRect.width;
                      if (tabRect.x < cropline
                              && tabRect.x + tabRect.width > cropline) {
-                         cropShape = createCroppedTabClip(tabPlacement, tabRect,
+                         cropShape = getCroppedTabClip(tabPlacement, tabRect,
                                  cropline);
                          cropx = cropline - 1;
                          cropy = tabRect.y;
@@ -382,10 +425,12 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
          String title = tabPane.getTitleAt(tabIndex);
          Font font = tabPane.getFont();
-         FontMetrics metrics = g.getFontMetrics(font);
+         FontMetrics metrics = tabAreaMetrics != null
+             ? tabAreaMetrics
+             : g.getFontMetrics(font);
          Icon icon = getIconForTab(tabIndex);
 
-         layoutLabel(tabPlacement, metrics, tabIndex, title, icon, tabRect,
+         layoutTabLabel(tabPlacement, metrics, tabIndex, title, icon, tabRect,
                  iconRect, textRect, isSelected);
 
          paintText(g, tabPlacement, font, metrics, tabIndex, title, textRect,
@@ -397,10 +442,12 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                  textRect, isSelected);
 
          if (cropShape != null) {
-             paintCroppedTabEdge(g, tabPlacement, tabIndex, isSelected, cropx,
-                     cropy);
+             paintCroppedTabEdge(g2, cropShape, cropx, cropy);
              g.setClip(save);
          }
+         if (PaintStatistics.ENABLED) {
+             PAINT_TAB_PROBE.record(start);
+         }
      }
 
      /*
@@ -431,93 +478,46 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
      private static final int CROP_SEGMENT = 12;
 
-     private Polygon createCroppedTabClip(int tabPlacement, Rectangle tabRect,
+     /*
+      * Returns the torn-edge clip for the given tab rectangle cropped
+      * at the specified cropline. The torn pattern starts at the tab's
+      * start, so the crop offset only moves the clip's edges. Hence the clip
+      * is cached per placement and tab extent and moved in place; scrolling
+      * the tabs doesn't build a polygon per frame.
+      */
+     private CroppedTabEdge getCroppedTabClip(int tabPlacement, Rectangle tabRect,
              int cropline) {
-         int rlen = 0;
-         int start = 0;
-         int end = 0;
-         int ostart = 0;
-
-         switch (tabPlacement) {
-             case LEFT:
-             case RIGHT:
-                 rlen = tabRect.width;
-                 start = tabRect.x;
-                 end = tabRect.x + tabRect.width;
-                 ostart = tabRect.y;
-                 break;
-             case TOP:
-             case BOTTOM:
-             default:
-                 rlen = tabRect.height;
-                 start = tabRect.y;
-                 end = tabRect.y + tabRect.height;
-                 ostart = tabRect.x;
+         boolean horizontal = tabPlacement != LEFT && tabPlacement != RIGHT;
+         int extent = horizontal ? tabRect.height : tabRect.width;
+         CroppedTabEdge edge = croppedTabEdge;
+         if (edge == null || edge.horizontal != horizontal || edge.extent != extent) {
+             edge = new CroppedTabEdge(horizontal, extent);
+             croppedTabEdge = edge;
          }
-         int rcnt = rlen / CROP_SEGMENT;
-         if (rlen % CROP_SEGMENT > 0) {
-             rcnt++;
+         if (horizontal) {
+             edge.moveTo(tabRect.x, tabRect.y, cropline);
+         } else {
+             edge.moveTo(tabRect.y, tabRect.x, cropline);
          }
-         int npts = 2 + rcnt * 8;
-         int[] xp = new int[npts];
-         int[] yp = new int[npts];
-         int pcnt = 0;
-
-         xp[pcnt] = ostart;
-         yp[pcnt++] = end;
-         xp[pcnt] = ostart;
-         yp[pcnt++] = start;
-         for (int i = 0; i < rcnt; i++) {
-             for (int j = 0; j < xCropLen.length; j++) {
-                 xp[pcnt] = cropline - xCropLen[j];
-                 yp[pcnt] = start + i * CROP_SEGMENT + yCropLen[j];
-                 if (yp[pcnt] >= end) {
-                     yp[pcnt] = end;
-                     pcnt++;
-                     break;
-                 }
-                 pcnt++;
-             }
-         }
-         if (tabPlacement == SwingConstants.TOP
-                 || tabPlacement == SwingConstants.BOTTOM) {
-             return new Polygon(xp, yp, pcnt);
-
-         }
-         //LEFT or RIGHT
-         return new Polygon(yp, xp, pcnt);
+         return edge;
      }
 
      /* If tabLayoutPolicy == SCROLL_TAB_LAYOUT, this method will paint an edge
-      * indicating the tab is cropped in the viewport display
+      * indicating the tab is cropped in the viewport display. The edge
+      * is drawn from a cached image unless the Graphics scales.
       */
-     private void paintCroppedTabEdge(Graphics g, int tabPlacement,
-             int tabIndex, boolean isSelected, int x, int y) {
-         switch (tabPlacement) {
-             case LEFT:
-             case RIGHT:
-                 int xx = x;
-                 g.setColor(shadow);
-                 while (xx <= x + rects[tabIndex].width) {
-                     for (int i = 0; i < xCropLen.length; i += 2) {
-                         g.drawLine(xx + yCropLen[i], y - xCropLen[i], xx
-                                 + yCropLen[i + 1] - 1, y - xCropLen[i + 1]);
-                     }
-                     xx += CROP_SEGMENT;
-                 }
-                 break;
-             case TOP:
-             case BOTTOM:
-             default:
-                 int yy = y;
-                 g.setColor(shadow);
-                 while (yy <= y + rects[tabIndex].height) {
-                     for (int i = 0; i < xCropLen.length; i += 2) {
-                         g.drawLine(x - xCropLen[i], yy + yCropLen[i], x
-                                 - xCropLen[i + 1], yy + yCropLen[i + 1] - 1);
-                     }
-                     yy += CROP_SEGMENT;
-                 }
+     private void paintCroppedTabEdge(Graphics2D g2, CroppedTabEdge edge,
+             int x, int y) {
+         g2.setColor(shadow);
+         if ((g2.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) != 0) {
+             edge.drawEdge(g2, x, y);
+             return;
+         }
+         BufferedImage image = edge.getEdgeImage(shadow);
+         if (edge.horizontal) {
+             g2.drawImage(image, x - edge.depth + 1, y, null);
+         } else {
+             g2.drawImage(image, x, y - edge.depth + 1, null);
          }
      }
 
@@ -537,27 +537,31 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
      /**
       * Returns the tab index which intersects the specified point
-      * in the JTabbedPane's coordinate space.
+      * in the JTabbedPane's coordinate space. Looks up the tab
+      * in the TabHitIndex without allocation; invoked on every
+      * mouse move for the rollover and tool tips.
       */
      @Override
     public int tabForCoordinate(JTabbedPane pane, int x, int y) {
          ensureCurrentLayout();
-         Point p = new Point(x, y);
+         int px = x;
+         int py = y;
 
          if (scrollableTabLayoutEnabled()) {
-             translatePointToTabPanel(x, y, p);
-             Rectangle viewRect = tabScroller.viewport.getViewRect();
-             if (!viewRect.contains(p)) {
+             // Translate to the tab panel and check the view rect
+             // like #translatePointToTabPanel and JViewport#getViewRect.
+             JViewport viewport = tabScroller.viewport;
+             Component view = viewport.getView();
+             int viewX = view == null ? 0 : -view.getX();
+             int viewY = view == null ? 0 : -view.getY();
+             px = x - viewport.getX() + viewX;
+             py = y - viewport.getY() + viewY;
+             if (   px < viewX || px >= viewX + viewport.getWidth()
+                 || py < viewY || py >= viewY + viewport.getHeight()) {
                  return -1;
              }
          }
-         int tabCount = tabPane.getTabCount();
-         for (int i = 0; i < tabCount; i++) {
-             if (rects[i].contains(p.x, p.y)) {
-                 return i;
-             }
-         }
-         return -1;
+         return tabHitIndex.tabForCoordinate(rects, tabPane.getTabCount(), px, py);
      }
 
      @Override
@@ -639,24 +643,126 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
         Rectangle iconRect = new Rectangle(),
                   textRect = new Rectangle();
         Rectangle clipRect = g.getClipBounds();
-
-        // Paint tabRuns of tabs from back to front
-        for (int i = runCount - 1; i >= 0; i--) {
-            int start = tabRuns[i];
-            int next = tabRuns[i == runCount - 1 ? 0 : i + 1];
-            int end = next != 0 ? next - 1 : tabCount - 1;
-            for (int j = end; j >= start; j--) {
-                if (j != selectedIndex && rects[j].intersects(clipRect)) {
-                    paintTab(g, tabPlacement, rects, j, iconRect, textRect);
+        tabAreaMetrics = g.getFontMetrics(tabPane.getFont());
+        try {
+            boolean painted = clipRect != null
+                && scrollableTabLayoutEnabled()
+                && paintVisibleTabs(g, tabPlacement, selectedIndex, tabCount,
+                                    clipRect, iconRect, textRect);
+            if (!painted) {
+                // Paint tabRuns of tabs from back to front
+                for (int i = runCount - 1; i >= 0; i--) {
+                    int start = tabRuns[i];
+                    int next = tabRuns[i == runCount - 1 ? 0 : i + 1];
+                    int end = next != 0 ? next - 1 : tabCount - 1;
+                    for (int j = end; j >= start; j--) {
+                        if (j != selectedIndex && rects[j].intersects(clipRect)) {
+                            paintTab(g, tabPlacement, rects, j, iconRect, textRect);
+                        }
+                    }
                 }
             }
+
+            // Paint selected tab if its in the front run
+            // since it may overlap other tabs
+            if (selectedIndex >= 0 && rects[selectedIndex].intersects(clipRect)) {
+                paintTab(g, tabPlacement, rects, selectedIndex, iconRect, textRect);
+            }
+        } finally {
+            tabAreaMetrics = null;
         }
+    }
+
 
-        // Paint selected tab if its in the front run
-        // since it may overlap other tabs
-        if (selectedIndex >= 0 && rects[selectedIndex].intersects(clipRect)) {
-            paintTab(g, tabPlacement, rects, selectedIndex, iconRect, textRect);
+    /**
+     * Paints the unselected tabs that intersect the clip, if the tabs
+     * form a single run as in the scroll tab layout. The tab rects are
+     * ordered along the run, so the first and last visible tab are found
+     * by binary search and off-screen tabs aren't visited at all;
+     * this keeps scrolling long tab strips cheap.
+     *
+     * @return true if the tabs have been painted,
+     *     false if the caller shall paint all tab runs
+     */
+    private boolean paintVisibleTabs(
+            Graphics g,
+            int tabPlacement,
+            int selectedIndex,
+            int tabCount,
+            Rectangle clipRect,
+            Rectangle iconRect,
+            Rectangle textRect) {
+        if (runCount != 1 || tabCount == 0) {
+            return false;
+        }
+        boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+        int clipStart = horizontal ? clipRect.x : clipRect.y;
+        int clipEnd   = clipStart + (horizontal ? clipRect.width : clipRect.height) - 1;
+        int a = tabHitIndex.tabAtOrBefore(rects, tabCount, clipStart);
+        int b = tabHitIndex.tabAtOrBefore(rects, tabCount, clipEnd);
+        if (a == -1 || b == -1) {
+            return false;
+        }
+        // Widen by one tab on each side; the intersection test below
+        // decides about the tabs at the range borders.
+        int first = Math.max(0, Math.min(a, b) - 1);
+        int last  = Math.min(tabCount - 1, Math.max(a, b) + 1);
+        for (int j = last; j >= first; j--) {
+            if (j != selectedIndex && rects[j].intersects(clipRect)) {
+                paintTab(g, tabPlacement, rects, j, iconRect, textRect);
+            }
         }
+        return true;
+    }
+
+
+    /**
+     * Lays out the tab's icon and text like {@link #layoutLabel}, but reuses
+     * the label layout of the tab's measurement if the title, icon, text view,
+     * font metrics, placement, tab size, selection and component orientation
+     * haven't changed since.
+     * The label layout is stored relative to the tab rect, so that it can
+     * be reused if the tab moves, for example when scrolling.
+     */
+    private void layoutTabLabel(
+        int tabPlacement,
+        FontMetrics metrics,
+        int tabIndex,
+        String title,
+        Icon icon,
+        Rectangle tabRect,
+        Rectangle iconRect,
+        Rectangle textRect,
+        boolean isSelected) {
+        if (tabPane.getTabComponentAt(tabIndex) != null) {
+            layoutLabel(tabPlacement, metrics, tabIndex, title, icon, tabRect,
+                    iconRect, textRect, isSelected);
+            return;
+        }
+        TabMeasurement measurement = getTabMeasurement(tabPlacement, tabIndex);
+        boolean leftToRight = tabPane.getComponentOrientation().isLeftToRight();
+        if (   measurement.labelMetrics     != metrics
+            || measurement.labelTabWidth    != tabRect.width
+            || measurement.labelTabHeight   != tabRect.height
+            || measurement.labelSelected    != isSelected
+            || measurement.labelLeftToRight != leftToRight) {
+            layoutLabel(tabPlacement, metrics, tabIndex, title, icon, tabRect,
+                    iconRect, textRect, isSelected);
+            measurement.labelMetrics     = metrics;
+            measurement.labelTabWidth    = tabRect.width;
+            measurement.labelTabHeight   = tabRect.height;
+            measurement.labelSelected    = isSelected;
+            measurement.labelLeftToRight = leftToRight;
+            measurement.labelIconRect.setBounds(iconRect);
+            measurement.labelIconRect.translate(-tabRect.x, -tabRect.y);
+            measurement.labelTextRect.setBounds(textRect);
+            measurement.labelTextRect.translate(-tabRect.x, -tabRect.y);
+            return;
+        }
+        iconRect.setBounds(measurement.labelIconRect);
+        iconRect.translate(tabRect.x, tabRect.y);
+        textRect.setBounds(measurement.labelTextRect);
+        textRect.translate(tabRect.x, tabRect.y);
     }
 
     /*
@@ -681,7 +787,7 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
             tabPane.putClientProperty("html", v);
         }
 
-        Rectangle calcRectangle = new Rectangle(tabRect);
+        calcRectangle.setBounds(tabRect);
         if (isSelected) {
         	Insets calcInsets = getSelectedTabPadInsets(tabPlacement);
         	calcRectangle.x += calcInsets.left;
@@ -746,6 +852,113 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                     : super.getIconForTab(tabIndex);
     }
 
+
+    // Tab Measurements *******************************************************
+
+    /**
+     * Answers the tab width. Reuses the width measured before,
+     * if the tab's title, icon, text view, font and renderer
+     * haven't changed since. Tabs with a tab component are always
+     * measured, since the component's preferred size may change.
+     */
+    @Override
+    protected int calculateTabWidth(int tabPlacement, int tabIndex, FontMetrics metrics) {
+        if (tabPane.getTabComponentAt(tabIndex) != null) {
+            return super.calculateTabWidth(tabPlacement, tabIndex, metrics);
+        }
+        TabMeasurement measurement = getTabMeasurement(tabPlacement, tabIndex);
+        if (measurement.width < 0 || measurement.metrics != metrics) {
+            measurement.width = super.calculateTabWidth(tabPlacement, tabIndex, metrics);
+            measurement.metrics = metrics;
+        }
+        return measurement.width;
+    }
+
+
+    /**
+     * Answers the tab height. Reuses the height measured before,
+     * if the tab's title, icon, text view, font height and renderer
+     * haven't changed since.
+     */
+    @Override
+    protected int calculateTabHeight(int tabPlacement, int tabIndex, int fontHeight) {
+        if (tabPane.getTabComponentAt(tabIndex) != null) {
+            return super.calculateTabHeight(tabPlacement, tabIndex, fontHeight);
+        }
+        TabMeasurement measurement = getTabMeasurement(tabPlacement, tabIndex);
+        if (measurement.height < 0 || measurement.fontHeight != fontHeight) {
+            measurement.height = super.calculateTabHeight(tabPlacement, tabIndex, fontHeight);
+            measurement.fontHeight = fontHeight;
+        }
+        return measurement.height;
+    }
+
+
+    /**
+     * Returns the measurement for the tab with the given index,
+     * reset if the values the tab size depends on have changed.
+     */
+    private TabMeasurement getTabMeasurement(int tabPlacement, int tabIndex) {
+        int tabCount = tabPane.getTabCount();
+        if (tabMeasurements.length != tabCount) {
+            reconcileTabMeasurements(tabCount);
+        }
+        TabMeasurement measurement = tabMeasurements[tabIndex];
+        if (measurement == null) {
+            measurement = new TabMeasurement();
+            tabMeasurements[tabIndex] = measurement;
+        }
+        measurement.validate(
+                tabPane.getComponentAt(tabIndex),
+                tabPane.getTitleAt(tabIndex),
+                getIconForTab(tabIndex),
+                getTextViewForTab(tabIndex),
+                renderer,
+                tabPlacement);
+        return measurement;
+    }
+
+
+    /**
+     * Resets the measured sizes and label layout of the tab
+     * with the given index, if any.
+     */
+    private void invalidateTabMeasurement(int tabIndex) {
+        if (tabIndex >= 0 && tabIndex < tabMeasurements.length) {
+            tabMeasurements[tabIndex] = null;
+        }
+    }
+
+
+    /**
+     * Adjusts the measurements to a changed tab count. Keeps the
+     * measurements of the leading and trailing tabs whose components
+     * are unchanged, so that inserting or removing a tab shifts
+     * the measurements of the following tabs instead of
+     * re-measuring them.
+     */
+    private void reconcileTabMeasurements(int tabCount) {
+        TabMeasurement[] old = tabMeasurements;
+        int oldCount = old.length;
+        int common = Math.min(oldCount, tabCount);
+        int head = 0;
+        while (   head < common
+               && old[head] != null
+               && old[head].component == tabPane.getComponentAt(head)) {
+            head++;
+        }
+        int tail = 0;
+        while (   tail < common - head
+               && old[oldCount - 1 - tail] != null
+               && old[oldCount - 1 - tail].component == tabPane.getComponentAt(tabCount - 1 - tail)) {
+            tail++;
+        }
+        TabMeasurement[] measurements = new TabMeasurement[tabCount];
+        System.arraycopy(old, 0, measurements, 0, head);
+        System.arraycopy(old, oldCount - tail, measurements, tabCount - tail, tail);
+        tabMeasurements = measurements;
+    }
+
     /**
      * Creates the layout manager used to set the tab's bounds.
      */
@@ -985,6 +1198,15 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
 
             super.propertyChange(e);
 
+            if (pName.equals("font")) {
+                // HTML text views may depend on the font.
+                tabMeasurements = new TabMeasurement[0];
+                return;
+            }
+            if (pName.equals("indexForTitle")) {
+                invalidateTabMeasurement((Integer) e.getNewValue());
+                return;
+            }
             if (pName.equals("tabPlacement")) {
                 tabPlacementChanged();
                 return;
@@ -1213,6 +1435,17 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                         + renderer.getTabsOverlay();
                 }
             }
+            updateTabHitIndex(tabPlacement, tabCount);
+        }
+
+        /**
+         * Rebuilds the index used by {@code #tabForCoordinate}
+         * from the tab rects and runs calculated before.
+         */
+        protected final void updateTabHitIndex(int tabPlacement, int tabCount) {
+            boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+            tabHitIndex.build(rects, tabCount, tabRuns, runCount, horizontal,
+                    tabPane.getSelectedIndex());
         }
 
         /**
@@ -1508,8 +1741,13 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                             }
 
                         } else {
-                            // All content children...
-                            child.setBounds(cx, cy, cw, ch);
+                            // All content children; skip the tree lock
+                            // if the bounds are unchanged, which is the
+                            // case after a tab title or icon change.
+                            if (   child.getX() != cx || child.getY() != cy
+                                || child.getWidth() != cw || child.getHeight() != ch) {
+                                child.setBounds(cx, cy, cw, ch);
+                            }
                         }
                     }
                     if (shouldChangeFocus) {
@@ -1614,6 +1852,7 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
                     rects[i].x = rightMargin - rects[i].x - rects[i].width;
                 }
             }
+            updateTabHitIndex(tabPlacement, tabCount);
             tabScroller.tabPanel.setPreferredSize(new Dimension(totalWidth, totalHeight));
         }
     }
@@ -1852,6 +2091,201 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
         }
     }
 
+    /**
+     * Holds a tab's measured width and height and its label layout
+     * together with the values they depend on. Shared by the tab layout
+     * and the tab painting; see #calculateTabWidth, #calculateTabHeight,
+     * and #layoutTabLabel.
+     */
+    private static final class TabMeasurement {
+
+        /** Identifies the tab if tabs are inserted or removed. */
+        Component component;
+        String title;
+        Icon icon;
+        int iconWidth;
+        int iconHeight;
+        View view;
+        AbstractRenderer renderer;
+        int tabPlacement;
+
+        FontMetrics metrics;
+        int width  = -1;
+        int fontHeight;
+        int height = -1;
+
+        // Label layout relative to the tab rect, see #layoutTabLabel.
+        FontMetrics labelMetrics;
+        int labelTabWidth;
+        int labelTabHeight;
+        boolean labelSelected;
+        boolean labelLeftToRight;
+        final Rectangle labelIconRect = new Rectangle();
+        final Rectangle labelTextRect = new Rectangle();
+
+        /**
+         * Stores the given values and resets the measured sizes,
+         * if the values have changed since the last measurement.
+         */
+        void validate(Component aComponent, String aTitle, Icon anIcon,
+                View aView, AbstractRenderer aRenderer, int aTabPlacement) {
+            int newIconWidth  = anIcon == null ? 0 : anIcon.getIconWidth();
+            int newIconHeight = anIcon == null ? 0 : anIcon.getIconHeight();
+            boolean titleChanged = title != aTitle
+                && (aTitle == null || !aTitle.equals(title));
+            if (   !titleChanged
+                && component == aComponent
+                && icon == anIcon
+                && iconWidth == newIconWidth
+                && iconHeight == newIconHeight
+                && view == aView
+                && renderer == aRenderer
+                && tabPlacement == aTabPlacement) {
+                return;
+            }
+            component    = aComponent;
+            title        = aTitle;
+            icon         = anIcon;
+            iconWidth    = newIconWidth;
+            iconHeight   = newIconHeight;
+            view         = aView;
+            renderer     = aRenderer;
+            tabPlacement = aTabPlacement;
+            width  = -1;
+            height = -1;
+            labelMetrics = null;
+        }
+
+    }
+
+    /**
+     * The torn-edge clip of a tab that is cropped at the end of the viewport
+     * in the scroll tab layout, see #getCroppedTabClip. Keeps the torn
+     * pattern relative to the crop line and the tab's start, and moves
+     * its points to the current tab location. Also holds the torn edge
+     * rasterized into an image, see #paintCroppedTabEdge.
+     */
+    private final class CroppedTabEdge extends Polygon {
+
+        /** True for tabs on TOP or BOTTOM, where the crop line is vertical. */
+        final boolean horizontal;
+
+        /** The tab's extent along the crop line. */
+        final int extent;
+
+        /** The number of pixels the torn edge reaches in front of the crop line. */
+        final int depth;
+
+        /** Point offsets from the crop line; the first two points are at the tab's base. */
+        private final int[] cross;
+
+        /** Point offsets along the crop line from the tab's start. */
+        private final int[] along;
+
+        private BufferedImage edgeImage;
+        private Color edgeColor;
+
+        CroppedTabEdge(boolean horizontal, int extent) {
+            this.horizontal = horizontal;
+            this.extent = extent;
+            int maxCropLen = 0;
+            for (int len : xCropLen) {
+                maxCropLen = Math.max(maxCropLen, len);
+            }
+            depth = maxCropLen + 1;
+            int rcnt = extent / CROP_SEGMENT;
+            if (extent % CROP_SEGMENT > 0) {
+                rcnt++;
+            }
+            int[] c = new int[2 + rcnt * xCropLen.length];
+            int[] a = new int[c.length];
+            int pcnt = 0;
+            a[pcnt++] = extent;
+            a[pcnt++] = 0;
+            for (int i = 0; i < rcnt; i++) {
+                for (int j = 0; j < xCropLen.length; j++) {
+                    c[pcnt] = -xCropLen[j];
+                    a[pcnt] = i * CROP_SEGMENT + yCropLen[j];
+                    if (a[pcnt] >= extent) {
+                        a[pcnt] = extent;
+                        pcnt++;
+                        break;
+                    }
+                    pcnt++;
+                }
+            }
+            cross = c;
+            along = a;
+            npoints = pcnt;
+            xpoints = new int[pcnt];
+            ypoints = new int[pcnt];
+        }
+
+        /**
+         * Moves the clip to a tab that starts at {@code base} in the
+         * scroll direction and at {@code start} along the crop line.
+         */
+        void moveTo(int base, int start, int cropline) {
+            int[] xs = horizontal ? xpoints : ypoints;
+            int[] ys = horizontal ? ypoints : xpoints;
+            xs[0] = base;
+            xs[1] = base;
+            for (int i = 2; i < npoints; i++) {
+                xs[i] = cropline + cross[i];
+            }
+            for (int i = 0; i < npoints; i++) {
+                ys[i] = start + along[i];
+            }
+            invalidate();
+        }
+
+        /**
+         * Draws the torn edge with lines; {@code x} and {@code y} are the
+         * crop line and tab start for horizontal tabs, and vice versa.
+         */
+        void drawEdge(Graphics g, int x, int y) {
+            if (horizontal) {
+                for (int yy = y; yy <= y + extent; yy += CROP_SEGMENT) {
+                    for (int i = 0; i < xCropLen.length; i += 2) {
+                        g.drawLine(x - xCropLen[i], yy + yCropLen[i], x
+                                - xCropLen[i + 1], yy + yCropLen[i + 1] - 1);
+                    }
+                }
+            } else {
+                for (int xx = x; xx <= x + extent; xx += CROP_SEGMENT) {
+                    for (int i = 0; i < xCropLen.length; i += 2) {
+                        g.drawLine(xx + yCropLen[i], y - xCropLen[i], xx
+                                + yCropLen[i + 1] - 1, y - xCropLen[i + 1]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the torn edge drawn in the given color into an image
+         * that starts {@code depth - 1} pixels in front of the crop line.
+         */
+        BufferedImage getEdgeImage(Color color) {
+            if (edgeImage == null || !color.equals(edgeColor)) {
+                int length = (extent / CROP_SEGMENT + 1) * CROP_SEGMENT;
+                edgeImage = horizontal
+                    ? new BufferedImage(depth, length, BufferedImage.TYPE_INT_ARGB)
+                    : new BufferedImage(length, depth, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g2 = edgeImage.createGraphics();
+                g2.setColor(color);
+                if (horizontal) {
+                    drawEdge(g2, depth - 1, 0);
+                } else {
+                    drawEdge(g2, 0, depth - 1);
+                }
+                g2.dispose();
+                edgeColor = color;
+            }
+            return edgeImage;
+        }
+
+    }
+
     private static final class ArrowButton extends JButton implements UIResource {
 
         private final int buttonWidth;
@@ -3211,4 +3645,4 @@ public final class PlasticTabbedPaneUI extends MetalTabbedPaneUI {
         }
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -74,6 +74,15 @@ public abstract class PlasticTheme extends DefaultMetalTheme {
      */
     private FontSet fontSet;
 
+    /**
+     * Holds the colors derived from this theme's colors.
+     * Compiled when this theme is set in the PlasticLookAndFeel.
+     *
+     * @see #getPalette()
+     * @see PlasticLookAndFeel#setPlasticTheme(PlasticTheme)
+     */
+    private PlasticPalette palette;
+
 
     // Accessing Colors *****************************************************
 
@@ -170,6 +179,36 @@ public abstract class PlasticTheme extends DefaultMetalTheme {
     }
 
 
+    // Accessing the Compiled Palette ***************************************
+
+    /**
+     * Compiles the colors derived from this theme's colors.
+     * Invoked by {@link PlasticLookAndFeel#setPlasticTheme(PlasticTheme)}.
+     */
+    void compilePalette() {
+        palette = new PlasticPalette(this);
+    }
+
+
+    /**
+     * Returns the colors derived from this theme's colors.
+     * Compiles the palette if this theme has been set
+     * via {@code MetalLookAndFeel#setCurrentTheme}, or if the focus
+     * color has changed since, for example because the high contrast
+     * focus colors have been enabled.
+     *
+     * @return this theme's compiled palette
+     */
+    PlasticPalette getPalette() {
+        PlasticPalette result = palette;
+        if (result == null || !result.focusColor.equals(getFocusColor())) {
+            result = new PlasticPalette(this);
+            palette = result;
+        }
+        return result;
+    }
+
+
     // Custom Equals Implementation *****************************************
 
     /**
@@ -200,4 +239,4 @@ public abstract class PlasticTheme extends DefaultMetalTheme {
     }
 
 
-}
\ No newline at end of file
+}
\ No newline at end of file
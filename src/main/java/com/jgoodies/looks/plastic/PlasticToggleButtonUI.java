@@ -49,6 +49,8 @@ import javax.swing.plaf.basic.BasicHTML;
 import javax.swing.plaf.metal.MetalToggleButtonUI;
 import javax.swing.text.View;
 
+import com.jgoodies.looks.common.PaintStatistics;
+
 /**
  * The JGoodies Plastic L&amp;F implementation of {@code ToggleButtonUI}.
  * It differs from its superclass in that it can add a pseudo 3D effect,
@@ -62,6 +64,9 @@ public class PlasticToggleButtonUI extends MetalToggleButtonUI {
     private static final PlasticToggleButtonUI INSTANCE =
         new PlasticToggleButtonUI();
 
+    private static final PaintStatistics.Probe PAINT_PROBE =
+        PaintStatistics.createProbe("PlasticToggleButtonUI.paint");
+
     /*
      * Implementation note: The protected visibility prevents
      * the String value from being encrypted by the obfuscator.
@@ -144,6 +149,7 @@ public class PlasticToggleButtonUI extends MetalToggleButtonUI {
      */
     @Override
     public void paint(Graphics g, JComponent c) {
+        long start = PaintStatistics.ENABLED ? System.nanoTime() : 0L;
         AbstractButton b = (AbstractButton) c;
         ButtonModel model = b.getModel();
 
@@ -216,6 +222,9 @@ public class PlasticToggleButtonUI extends MetalToggleButtonUI {
         if (b.isFocusPainted() && b.hasFocus()) {
             paintFocus(g, b, viewRect, textRect, iconRect);
         }
+        if (PaintStatistics.ENABLED) {
+            PAINT_PROBE.record(start);
+        }
     }
 
     // Private Helper Code **************************************************************
@@ -253,4 +262,4 @@ public class PlasticToggleButtonUI extends MetalToggleButtonUI {
             && !model.isPressed();
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
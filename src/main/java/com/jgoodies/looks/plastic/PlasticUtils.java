@@ -32,10 +32,13 @@ package com.jgoodies.looks.plastic;
 
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.AlphaComposite;
 import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 
 import javax.swing.JComponent;
 import javax.swing.UIManager;
@@ -228,6 +231,68 @@ public final class PlasticUtils {
 
 	private static final float FRACTION_3D = 0.5f;
 
+	/**
+	 * The width of the round sides painted by {@link #add3DEffekt(Graphics, Rectangle)}.
+	 */
+	private static final int ROUND_SIDE_WIDTH = 10;
+
+	/**
+	 * Holds the gradient strips for the current theme, or null
+	 * if they need to be resolved from the UIManager again.
+	 *
+	 * @see #invalidate3DEffects()
+	 */
+	private static Gradients gradients;
+
+
+	/**
+	 * Discards the cached gradient strips used to paint the 3D effects.
+	 * Invoked if the theme changes or the Look&amp;Feel is (re-)installed,
+	 * because the strip colors are read from the UIManager.
+	 */
+	static void invalidate3DEffects() {
+		gradients = null;
+	}
+
+
+	private static Gradients getGradients() {
+		Gradients result = gradients;
+		if (result == null) {
+			result = new Gradients();
+			gradients = result;
+		}
+		return result;
+	}
+
+
+	/*
+	 * The cached strips are rasterized for the device space; if the
+	 * Graphics scales, e.g. on a HiDPI screen, we paint with GradientPaints.
+	 */
+	private static boolean canUseStrips(Graphics2D g2) {
+		return (g2.getTransform().getType() & ~AffineTransform.TYPE_TRANSLATION) == 0;
+	}
+
+
+	private static void add3DEffekt(Graphics g, Rectangle r, boolean isHorizontal,
+		GradientStrip strip0, GradientStrip strip1) {
+
+		Graphics2D g2 = (Graphics2D) g;
+		if (canUseStrips(g2)) {
+			if (isHorizontal) {
+				int height = (int) (r.height * FRACTION_3D);
+				strip0.fill(g2, r.x, r.y, r.width, height, false, height);
+				strip1.fill(g2, r.x, r.y + height, r.width, height, false, r.height - height);
+			} else {
+				int width = (int) (r.width * FRACTION_3D);
+				strip0.fill(g2, r.x, r.y, width, r.height, true, width);
+				strip1.fill(g2, r.x + width, r.y, width, r.height, true, r.width - width);
+			}
+			return;
+		}
+		add3DEffekt(g, r, isHorizontal, strip0.color1, strip0.color0, strip1.color0, strip1.color1);
+	}
+
 
 	private static void add3DEffekt(Graphics g, Rectangle r, boolean isHorizontal,
 		Color startC0, Color stopC0, Color startC1, Color stopC1) {
@@ -265,32 +330,30 @@ public final class PlasticUtils {
 
 
 	static void add3DEffekt(Graphics g, Rectangle r) {
-		Color brightenStop = UIManager.getColor("Plastic.brightenStop");
-		if (null == brightenStop) {
-            brightenStop = PlasticTheme.BRIGHTEN_STOP;
-        }
+		Gradients gs = getGradients();
 
 		// Add round sides
 		Graphics2D g2 = (Graphics2D) g;
-		int border = 10;
-		g2.setPaint(new GradientPaint(r.x, r.y, brightenStop, r.x + border, r.y, PlasticTheme.BRIGHTEN_START));
-		g2.fillRect(r.x, r.y, border, r.height);
+		int border = ROUND_SIDE_WIDTH;
 		int x = r.x + r.width -border;
 		int y = r.y;
-		g2.setPaint(new GradientPaint(x, y, PlasticTheme.DARKEN_START, x + border, y, PlasticTheme.LT_DARKEN_STOP));
-		g2.fillRect(x, y, border, r.height);
+		if (canUseStrips(g2)) {
+			gs.brighten.fill(g2, r.x, r.y, border, r.height, true, border);
+			gs.darken.fill(g2, x, y, border, r.height, true, border);
+		} else {
+			g2.setPaint(new GradientPaint(r.x, r.y, gs.brighten.color0, r.x + border, r.y, PlasticTheme.BRIGHTEN_START));
+			g2.fillRect(r.x, r.y, border, r.height);
+			g2.setPaint(new GradientPaint(x, y, PlasticTheme.DARKEN_START, x + border, y, PlasticTheme.LT_DARKEN_STOP));
+			g2.fillRect(x, y, border, r.height);
+		}
 
-		add3DEffekt(g, r, true, PlasticTheme.BRIGHTEN_START, brightenStop, PlasticTheme.DARKEN_START, PlasticTheme.LT_DARKEN_STOP);
+		add3DEffekt(g, r, true, gs.brighten, gs.darken);
 	}
 
 
 	static void addLight3DEffekt(Graphics g, Rectangle r, boolean isHorizontal) {
-		Color ltBrightenStop = UIManager.getColor("Plastic.ltBrightenStop");
-		if (null == ltBrightenStop) {
-            ltBrightenStop = PlasticTheme.LT_BRIGHTEN_STOP;
-        }
-
-		add3DEffekt(g, r, isHorizontal, PlasticTheme.BRIGHTEN_START, ltBrightenStop, PlasticTheme.DARKEN_START, PlasticTheme.LT_DARKEN_STOP);
+		Gradients gs = getGradients();
+		add3DEffekt(g, r, isHorizontal, gs.ltBrighten, gs.darken);
 	}
 
 
@@ -299,12 +362,8 @@ public final class PlasticUtils {
 	 * FillerUI.
 	 */
 	public static void addLight3DEffekt(Graphics g, Rectangle r) {
-		Color ltBrightenStop = UIManager.getColor("Plastic.ltBrightenStop");
-		if (null == ltBrightenStop) {
-            ltBrightenStop = PlasticTheme.LT_BRIGHTEN_STOP;
-        }
-
-		add3DEffekt(g, r, true, PlasticTheme.DARKEN_START, PlasticTheme.LT_DARKEN_STOP, PlasticTheme.BRIGHTEN_START, ltBrightenStop);
+		Gradients gs = getGradients();
+		add3DEffekt(g, r, true, gs.ltDarkenInverse, gs.ltBrightenInverse);
 	}
 
 
@@ -321,4 +380,112 @@ public final class PlasticUtils {
     }
 
 
-}
\ No newline at end of file
+    // Helper Classes *******************************************************
+
+    /**
+     * Holds the gradient strips used by the 3D effects for the current
+     * theme. The start colors are resolved once from the UIManager.
+     */
+    private static final class Gradients {
+
+        final GradientStrip brighten;
+        final GradientStrip ltBrighten;
+        final GradientStrip darken;
+        final GradientStrip ltDarkenInverse;
+        final GradientStrip ltBrightenInverse;
+
+        Gradients() {
+            Color brightenStop = UIManager.getColor("Plastic.brightenStop");
+            if (null == brightenStop) {
+                brightenStop = PlasticTheme.BRIGHTEN_STOP;
+            }
+            Color ltBrightenStop = UIManager.getColor("Plastic.ltBrightenStop");
+            if (null == ltBrightenStop) {
+                ltBrightenStop = PlasticTheme.LT_BRIGHTEN_STOP;
+            }
+            brighten          = new GradientStrip(brightenStop, PlasticTheme.BRIGHTEN_START);
+            ltBrighten        = new GradientStrip(ltBrightenStop, PlasticTheme.BRIGHTEN_START);
+            darken            = new GradientStrip(PlasticTheme.DARKEN_START, PlasticTheme.LT_DARKEN_STOP);
+            ltDarkenInverse   = new GradientStrip(PlasticTheme.LT_DARKEN_STOP, PlasticTheme.DARKEN_START);
+            ltBrightenInverse = new GradientStrip(PlasticTheme.BRIGHTEN_START, ltBrightenStop);
+        }
+
+    }
+
+
+    /**
+     * Caches pre-rendered one pixel wide images of a linear gradient
+     * from {@code color0} to {@code color1}, per orientation and
+     * gradient length. Filling a rectangle with a strip is a single
+     * stretched {@code drawImage} that has the same result as filling
+     * it with the equivalent {@code GradientPaint}.
+     */
+    private static final class GradientStrip {
+
+        /**
+         * Gradients longer than this are painted with a GradientPaint.
+         */
+        private static final int MAX_LENGTH = 256;
+
+        final Color color0;
+        final Color color1;
+
+        private final BufferedImage[] horizontalStrips = new BufferedImage[MAX_LENGTH + 1];
+        private final BufferedImage[] verticalStrips   = new BufferedImage[MAX_LENGTH + 1];
+
+        GradientStrip(Color color0, Color color1) {
+            this.color0 = color0;
+            this.color1 = color1;
+        }
+
+        /**
+         * Fills the given rectangle with this gradient, starting at
+         * {@code x} for horizontal, and at {@code y} for vertical gradients.
+         * Pixels beyond the gradient's length get {@code color1}.
+         *
+         * @param horizontal  true if the colors vary along the x axis
+         * @param length      the distance between the gradient's end points
+         */
+        void fill(Graphics2D g2, int x, int y, int w, int h, boolean horizontal, int length) {
+            int extent = horizontal ? w : h;
+            if (w <= 0 || h <= 0) {
+                return;
+            }
+            if (length <= 0 || length > MAX_LENGTH || extent > length) {
+                g2.setPaint(horizontal
+                        ? new GradientPaint(x, y, color0, x + length, y, color1)
+                        : new GradientPaint(x, y, color0, x, y + length, color1));
+                g2.fillRect(x, y, w, h);
+                return;
+            }
+            BufferedImage[] strips = horizontal ? horizontalStrips : verticalStrips;
+            BufferedImage strip = strips[length];
+            if (strip == null) {
+                strip = createStrip(horizontal, length);
+                strips[length] = strip;
+            }
+            if (horizontal) {
+                g2.drawImage(strip, x, y, x + w, y + h, 0, 0, w, 1, null);
+            } else {
+                g2.drawImage(strip, x, y, x + w, y + h, 0, 0, 1, h, null);
+            }
+        }
+
+        private BufferedImage createStrip(boolean horizontal, int length) {
+            int w = horizontal ? length : 1;
+            int h = horizontal ? 1 : length;
+            BufferedImage strip = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2 = strip.createGraphics();
+            g2.setComposite(AlphaComposite.Src);
+            g2.setPaint(horizontal
+                    ? new GradientPaint(0, 0, color0, length, 0, color1)
+                    : new GradientPaint(0, 0, color0, 0, length, color1));
+            g2.fillRect(0, 0, w, h);
+            g2.dispose();
+            return strip;
+        }
+
+    }
+
+
+}
\ No newline at end of file
@@ -38,12 +38,15 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Stroke;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.io.Serializable;
+import java.util.Objects;
 
 import javax.swing.AbstractButton;
 import javax.swing.ButtonModel;
 import javax.swing.Icon;
-import javax.swing.JCheckBox;
+import javax.swing.ImageIcon;
 import javax.swing.UIManager;
 import javax.swing.plaf.UIResource;
 import javax.swing.plaf.metal.MetalLookAndFeel;
@@ -101,10 +104,164 @@ public final class PlasticXPIconFactory {
     }
 
 
+    /**
+     * Discards the cached check box and radio button images.
+     * Invoked if the Look&amp;Feel is (re-)installed. Changes to the
+     * UIDefaults for the check color and radio check icon are also
+     * detected when painting, see StateIcon#paintIcon.
+     */
+    static void invalidateIconImages() {
+        if (checkBoxIcon != null) {
+            checkBoxIcon.images = null;
+        }
+        if (radioButtonIcon != null) {
+            radioButtonIcon.images = null;
+        }
+    }
+
+
+    /**
+     * Paints the icon from images that are rasterized once per
+     * button state, theme palette, scale, and UIManager check color
+     * and check icon. Falls back to painting the icon directly
+     * if the Graphics scales by a factor that results in a fractional
+     * image size, or if a state can't be rasterized independently
+     * of the component, see #canRasterize.
+     */
+    private abstract static class StateIcon implements Icon, UIResource, Serializable {
+
+        static final int ENABLED  = 1;
+        static final int PRESSED  = 2;
+        static final int SELECTED = 4;
+        static final int FOCUSED  = 8;
+
+        private static final int STATE_COUNT = 16;
+
+        /**
+         * Holds the rasterized images, or null if they need to be rebuilt.
+         *
+         * @see PlasticXPIconFactory#invalidateIconImages()
+         */
+        transient StateImages images;
+
+        @Override
+        public final void paintIcon(Component c, Graphics g, int x, int y) {
+            AbstractButton b = (AbstractButton) c;
+            ButtonModel model = b.getModel();
+            Graphics2D g2 = (Graphics2D) g;
+            boolean paintFocus =    model.isArmed() && !model.isPressed()
+                                 || b.hasFocus() && Strings.isBlank(b.getText());
+            int state = (model.isEnabled()  ? ENABLED  : 0)
+                      | (model.isPressed()  ? PRESSED  : 0)
+                      | (model.isSelected() ? SELECTED : 0)
+                      | (paintFocus         ? FOCUSED  : 0);
+
+            Icon checkIcon = getCheckIcon();
+            double scale = getImageScale(g2);
+            if (scale == 0 || !canRasterize(state, checkIcon)) {
+                paintState(c, g2, x, y, state);
+                return;
+            }
+            PlasticPalette palette = PlasticLookAndFeel.getPalette();
+            Color checkColor = getCheckColor();
+            StateImages stateImages = images;
+            if (stateImages == null
+                    || stateImages.palette != palette
+                    || stateImages.scale != scale
+                    || !Objects.equals(stateImages.checkColor, checkColor)
+                    || stateImages.checkIcon != checkIcon) {
+                stateImages = new StateImages(palette, scale, checkColor, checkIcon);
+                images = stateImages;
+            }
+            BufferedImage image = stateImages.images[state];
+            if (image == null) {
+                image = createImage(c, state, scale);
+                stateImages.images[state] = image;
+            }
+            int size = getIconWidth();
+            g2.drawImage(image, x, y, size, size, null);
+        }
+
+        /**
+         * Paints the icon for the given state combination.
+         */
+        abstract void paintState(Component c, Graphics2D g2, int x, int y, int state);
+
+        /**
+         * Returns the UIManager color used to paint the check.
+         */
+        abstract Color getCheckColor();
+
+        /**
+         * Returns the UIManager icon painted over the check, or null if none.
+         */
+        Icon getCheckIcon() {
+            return null;
+        }
+
+        /**
+         * Checks and answers whether the given state can be painted
+         * from an image that is shared by all components.
+         */
+        boolean canRasterize(int state, Icon checkIcon) {
+            return true;
+        }
+
+        /**
+         * Returns the scale of the images to paint with the given Graphics,
+         * or 0 if the icon shall be painted directly.
+         */
+        private double getImageScale(Graphics2D g2) {
+            AffineTransform t = g2.getTransform();
+            int type = t.getType() & ~AffineTransform.TYPE_TRANSLATION;
+            if (type == AffineTransform.TYPE_IDENTITY) {
+                return 1;
+            }
+            if (type != AffineTransform.TYPE_UNIFORM_SCALE) {
+                return 0;
+            }
+            double scale = t.getScaleX();
+            double size = getIconWidth() * scale;
+            return size == Math.rint(size) ? scale : 0;
+        }
+
+        private BufferedImage createImage(Component c, int state, double scale) {
+            int size = (int) Math.rint(getIconWidth() * scale);
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = image.createGraphics();
+            g2.scale(scale, scale);
+            paintState(c, g2, 0, 0, state);
+            g2.dispose();
+            return image;
+        }
+    }
+
+
+    /**
+     * Holds the images per state for a palette, scale, check color
+     * and check icon.
+     */
+    private static final class StateImages {
+
+        final PlasticPalette palette;
+        final double scale;
+        final Color checkColor;
+        final Icon checkIcon;
+        final BufferedImage[] images = new BufferedImage[StateIcon.STATE_COUNT];
+
+        StateImages(PlasticPalette palette, double scale, Color checkColor, Icon checkIcon) {
+            this.palette = palette;
+            this.scale = scale;
+            this.checkColor = checkColor;
+            this.checkIcon = checkIcon;
+        }
+    }
+
+
     /**
      * Paints the the icon and focus border for Plastic XP check boxes.
      */
-    private static final class CheckBoxIcon implements Icon, UIResource, Serializable {
+    private static final class CheckBoxIcon extends StateIcon {
 
         private static final int SIZE = SystemUtils.IS_LOW_RESOLUTION ? 13 : 15;
 
@@ -114,13 +271,8 @@ public final class PlasticXPIconFactory {
 		public int getIconHeight() { return SIZE; }
 
         @Override
-		public void paintIcon(Component c, Graphics g, int x, int y) {
-            JCheckBox cb = (JCheckBox) c;
-            ButtonModel model = cb.getModel();
-            Graphics2D g2 = (Graphics2D) g;
-            boolean paintFocus =    model.isArmed() && !model.isPressed()
-                                 || cb.hasFocus() && Strings.isBlank(cb.getText());
-
+		void paintState(Component c, Graphics2D g2, int x, int y, int state) {
+            boolean enabled = (state & ENABLED) != 0;
             final RenderingHints.Key key = RenderingHints.KEY_ANTIALIASING;
             Object newAAHint = RenderingHints.VALUE_ANTIALIAS_ON;
             Object oldAAHint = g2.getRenderingHint(key);
@@ -130,13 +282,13 @@ public final class PlasticXPIconFactory {
                 oldAAHint = null;
             }
 
-            drawBorder(g2, model.isEnabled(), x, y, SIZE - 1, SIZE - 1);
-            drawFill(g2, model.isPressed(), x + 1, y + 1, SIZE - 2, SIZE - 2);
-            if (paintFocus) {
+            drawBorder(g2, enabled, x, y, SIZE - 1, SIZE - 1);
+            drawFill(g2, (state & PRESSED) != 0, x + 1, y + 1, SIZE - 2, SIZE - 2);
+            if ((state & FOCUSED) != 0) {
                 drawFocus(g2, x + 1, y + 1, SIZE - 3, SIZE - 3);
             }
-            if (model.isSelected()) {
-                drawCheck(g2, model.isEnabled(), x + 3, y + 3, SIZE - 7, SIZE - 7);
+            if ((state & SELECTED) != 0) {
+                drawCheck(g2, enabled, x + 3, y + 3, SIZE - 7, SIZE - 7);
             }
 
             if (oldAAHint != null) {
@@ -144,6 +296,11 @@ public final class PlasticXPIconFactory {
             }
         }
 
+        @Override
+        Color getCheckColor() {
+            return UIManager.getColor("CheckBox.check");
+        }
+
         private static void drawBorder(Graphics2D g2, boolean enabled, int x, int y, int width, int height) {
             g2.setColor(enabled
                     ? PlasticLookAndFeel.getControlDarkShadow()
@@ -175,7 +332,7 @@ public final class PlasticXPIconFactory {
                 lowerRight = PlasticLookAndFeel.getControlHighlight();
             } else {
                 upperLeft  = PlasticLookAndFeel.getControl();
-                lowerRight = PlasticLookAndFeel.getControlHighlight().brighter();
+                lowerRight = PlasticLookAndFeel.getPalette().controlHighlightBrighter;
             }
             g2.setPaint(new GradientPaint(x, y, upperLeft, x + w, y + h, lowerRight));
             g2.fillRect(x, y, w, h);
@@ -185,7 +342,7 @@ public final class PlasticXPIconFactory {
             g2.setPaint(new GradientPaint(
                     x,
                     y,
-                    PlasticLookAndFeel.getFocusColor().brighter(),
+                    PlasticLookAndFeel.getPalette().focusColorBrighter,
                     width,
                     height,
                     PlasticLookAndFeel.getFocusColor() /*.darker()*/
@@ -200,7 +357,7 @@ public final class PlasticXPIconFactory {
     /**
      * Paints the the icon and focus border for Plastic XP check boxes.
      */
-    private static final class RadioButtonIcon implements Icon, UIResource, Serializable {
+    private static final class RadioButtonIcon extends StateIcon {
 
         private static final int SIZE = SystemUtils.IS_LOW_RESOLUTION ? 13 : 15;
 
@@ -212,13 +369,8 @@ public final class PlasticXPIconFactory {
 		public int getIconHeight() { return SIZE; }
 
         @Override
-		public void paintIcon(Component c, Graphics g, int x, int y) {
-            Graphics2D g2 = (Graphics2D) g;
-            AbstractButton rb = (AbstractButton) c;
-            ButtonModel model = rb.getModel();
-            boolean paintFocus =    model.isArmed() && !model.isPressed()
-                                 || rb.hasFocus() && Strings.isBlank(rb.getText());
-
+		void paintState(Component c, Graphics2D g2, int x, int y, int state) {
+            boolean enabled = (state & ENABLED) != 0;
             final RenderingHints.Key key = RenderingHints.KEY_ANTIALIASING;
             Object newAAHint = RenderingHints.VALUE_ANTIALIAS_ON;
             Object oldAAHint = g2.getRenderingHint(key);
@@ -228,20 +380,41 @@ public final class PlasticXPIconFactory {
                 oldAAHint = null;
             }
 
-            drawFill(g2, model.isPressed(), x, y, SIZE - 1, SIZE - 1);
-            if (paintFocus) {
+            drawFill(g2, (state & PRESSED) != 0, x, y, SIZE - 1, SIZE - 1);
+            if ((state & FOCUSED) != 0) {
                 drawFocus(g2, x + 1, y + 1, SIZE - 3, SIZE - 3);
             }
-            if (model.isSelected()) {
-                drawCheck(g2, c, model.isEnabled(), x + 4, y + 4, SIZE - 8, SIZE - 8);
+            if ((state & SELECTED) != 0) {
+                drawCheck(g2, c, enabled, x + 4, y + 4, SIZE - 8, SIZE - 8);
             }
-        	drawBorder(g2, model.isEnabled(), x, y, SIZE-1, SIZE-1);
+        	drawBorder(g2, enabled, x, y, SIZE-1, SIZE-1);
 
             if (oldAAHint != null) {
                 g2.setRenderingHint(key, oldAAHint);
             }
         }
 
+        @Override
+        Color getCheckColor() {
+            return UIManager.getColor("RadioButton.check");
+        }
+
+        @Override
+        Icon getCheckIcon() {
+            return UIManager.getIcon("RadioButton.checkIcon");
+        }
+
+        /**
+         * The enabled check paints the check icon with the component.
+         * ImageIcons use the component only as image observer, so their
+         * images can be shared; other icons are painted per component.
+         */
+        @Override
+        boolean canRasterize(int state, Icon checkIcon) {
+            return (state & (ENABLED | SELECTED)) != (ENABLED | SELECTED)
+                || checkIcon instanceof ImageIcon;
+        }
+
         private static void drawBorder(Graphics2D g2, boolean enabled, int x, int y, int w, int h) {
             g2.setColor(enabled
                 ? PlasticLookAndFeel.getControlDarkShadow()
@@ -270,7 +443,7 @@ public final class PlasticXPIconFactory {
                 lowerRight = PlasticLookAndFeel.getControlHighlight();
             } else {
                 upperLeft  = PlasticLookAndFeel.getControl();
-                lowerRight = PlasticLookAndFeel.getControlHighlight().brighter();
+                lowerRight = PlasticLookAndFeel.getPalette().controlHighlightBrighter;
             }
             g2.setPaint(new GradientPaint(x, y, upperLeft, x + w, y + h, lowerRight));
             g2.fillOval(x, y, w, h);
@@ -281,7 +454,7 @@ public final class PlasticXPIconFactory {
                 new GradientPaint(
                     x,
                     y,
-                    PlasticLookAndFeel.getFocusColor().brighter(),
+                    PlasticLookAndFeel.getPalette().focusColorBrighter,
                     w,
                     h,
                     PlasticLookAndFeel.getFocusColor()));
@@ -32,10 +32,9 @@ package com.jgoodies.looks.plastic;
 
 import java.awt.Color;
 import java.awt.Graphics;
-
-import javax.swing.plaf.metal.MetalLookAndFeel;
-
-import com.jgoodies.looks.LookUtils;
+import java.awt.Graphics2D;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 
 
 /**
@@ -47,6 +46,13 @@ import com.jgoodies.looks.LookUtils;
 
 public final class PlasticXPUtils {
 
+    /**
+     * Holds the cached button borders per {@link ButtonState}.
+     */
+    private static final NineSliceBorder[] BUTTON_BORDERS =
+        new NineSliceBorder[ButtonState.values().length];
+
+
     private PlasticXPUtils() {
         // Overrides default constructor; prevents instantiation.
     }
@@ -55,62 +61,105 @@ public final class PlasticXPUtils {
      * Draws a plain border for an xp button.
      */
     static void drawPlainButtonBorder(Graphics g, int x, int y, int w, int h) {
-        drawButtonBorder(g, x, y, w, h,
-                    PlasticLookAndFeel.getControl(),
-                    PlasticLookAndFeel.getControlDarkShadow(),
-                    LookUtils.getSlightlyBrighter(
-                        PlasticLookAndFeel.getControlDarkShadow(),
-                        1.25f)
-                      );
+        drawCachedButtonBorder(g, x, y, w, h, ButtonState.PLAIN);
     }
 
     /**
      * Draws a border for a pressed xp button.
      */
     static void drawPressedButtonBorder(Graphics g, int x, int y, int w, int h) {
-        drawPlainButtonBorder(g, x, y, w, h);
-        Color darkColor =
-                translucentColor(PlasticLookAndFeel.getControlDarkShadow(),
-                                 128);
-        Color lightColor =
-                translucentColor(PlasticLookAndFeel.getControlHighlight(),
-                                 80);
-        g.translate(x, y);
-        g.setColor(darkColor);
-        g.fillRect(2, 1,  w-4, 1);
-
-        g.setColor(lightColor);
-        g.fillRect(2, h-2,  w-4, 1);
-        g.translate(-x, -y);
+        drawCachedButtonBorder(g, x, y, w, h, ButtonState.PRESSED);
     }
 
     /**
      * Draws a border for a default xp button.
      */
     static void drawDefaultButtonBorder(Graphics g, int x, int y, int w, int h) {
-        drawPlainButtonBorder(g, x, y, w, h);
-        drawInnerButtonDecoration(g, x, y, w, h,
-                    PlasticLookAndFeel.getPrimaryControlDarkShadow());
+        drawCachedButtonBorder(g, x, y, w, h, ButtonState.DEFAULT);
     }
 
     /**
      * Draws a border for a focused xp button.
      */
     static void drawFocusedButtonBorder(Graphics g, int x, int y, int w, int h) {
-        drawPlainButtonBorder(g, x, y, w, h);
-        drawInnerButtonDecoration(g, x, y, w, h,
-                    PlasticLookAndFeel.getFocusColor());
+        drawCachedButtonBorder(g, x, y, w, h, ButtonState.FOCUSED);
     }
 
     /**
      * Draws a border for a disabled xp button.
      */
     static void drawDisabledButtonBorder(Graphics g, int x, int y, int w, int h) {
+        drawCachedButtonBorder(g, x, y, w, h, ButtonState.DISABLED);
+    }
+
+
+    /**
+     * Draws the border for the given button state from the cached
+     * nine-slice border, if the border is large enough and the Graphics
+     * doesn't scale by a fraction. Otherwise paints the border directly.
+     * The cached border is rebuilt if the palette has changed,
+     * for example after a theme change.
+     */
+    private static void drawCachedButtonBorder(
+        Graphics g,
+        int x, int y, int w, int h,
+        ButtonState state) {
+
+        PlasticPalette palette = PlasticLookAndFeel.getPalette();
+        if (!NineSliceBorder.canPaint(g, w, h)) {
+            paintButtonBorder(g, x, y, w, h, state, palette);
+            return;
+        }
+        NineSliceBorder border = BUTTON_BORDERS[state.ordinal()];
+        if (border == null || border.palette != palette) {
+            border = new NineSliceBorder(state, palette);
+            BUTTON_BORDERS[state.ordinal()] = border;
+        }
+        border.paint(g, x, y, w, h);
+    }
+
+
+    /**
+     * Paints the border for the given button state with fillRects.
+     */
+    private static void paintButtonBorder(
+        Graphics g,
+        int x, int y, int w, int h,
+        ButtonState state,
+        PlasticPalette palette) {
+
+        if (state == ButtonState.DISABLED) {
+            drawButtonBorder(g, x, y, w, h,
+                    palette.control,
+                    palette.controlShadow,
+                    palette.disabledButtonCorner);
+            return;
+        }
         drawButtonBorder(g, x, y, w, h,
-                    PlasticLookAndFeel.getControl(),
-                    MetalLookAndFeel.getControlShadow(),
-                    LookUtils.getSlightlyBrighter(
-                        MetalLookAndFeel.getControlShadow()));
+                palette.control,
+                palette.controlDarkShadow,
+                palette.buttonCorner);
+        switch (state) {
+            case PRESSED:
+                drawPressedButtonDecoration(g, x, y, w, h,
+                        palette.pressedButtonShadow,
+                        palette.pressedButtonHighlight);
+                break;
+            case DEFAULT:
+                drawInnerButtonDecoration(g, x, y, w, h,
+                        palette.defaultButtonLight,
+                        palette.defaultButtonMedium,
+                        palette.defaultButtonDark);
+                break;
+            case FOCUSED:
+                drawInnerButtonDecoration(g, x, y, w, h,
+                        palette.focusedButtonLight,
+                        palette.focusedButtonMedium,
+                        palette.focusedButtonDark);
+                break;
+            default:
+                break;
+        }
     }
 
 
@@ -148,16 +197,33 @@ public final class PlasticXPUtils {
 
 
     /**
-     * Draws a button border for an xp button with the given colors.
+     * Draws the inner decoration of a pressed xp button.
      */
-    private static void drawInnerButtonDecoration(
+    private static void drawPressedButtonDecoration(
         Graphics g,
         int x, int y, int w, int h,
-        Color baseColor) {
+        Color darkColor,
+        Color lightColor) {
 
-        Color lightColor  = translucentColor(baseColor,  90);
-        Color mediumColor = translucentColor(baseColor, 120);
-        Color darkColor   = translucentColor(baseColor, 200);
+        g.translate(x, y);
+        g.setColor(darkColor);
+        g.fillRect(2, 1,  w-4, 1);
+
+        g.setColor(lightColor);
+        g.fillRect(2, h-2,  w-4, 1);
+        g.translate(-x, -y);
+    }
+
+
+    /**
+     * Draws the inner decoration of a default or focused xp button.
+     */
+    private static void drawInnerButtonDecoration(
+        Graphics g,
+        int x, int y, int w, int h,
+        Color lightColor,
+        Color mediumColor,
+        Color darkColor) {
 
         g.translate(x, y);
         g.setColor(lightColor);
@@ -185,18 +251,73 @@ public final class PlasticXPUtils {
     }
 
 
+    // Helper Classes *********************************************************
+
+    /**
+     * Describes the button states that have different borders.
+     */
+    private enum ButtonState {
+        PLAIN, PRESSED, DEFAULT, FOCUSED, DISABLED
+    }
+
+
     /**
-     * Returns a color that is a translucent copy of the given color.
-     *
-     * @param baseColor     the base color
-     * @param alpha         the alpha value
-     * @return the translucent color with specified alpha
+     * Holds a button border rasterized once into a small image, and paints
+     * it by drawing the corners and stretching the edges. This works,
+     * because all xp button borders paint within {@link #INSET} pixels
+     * from the bounds and their edges don't vary along their length.
      */
-    private static Color translucentColor(Color baseColor, int alpha) {
-        return new Color(baseColor.getRed(),
-                          baseColor.getGreen(),
-                          baseColor.getBlue(),
-                          alpha);
+    private static final class NineSliceBorder {
+
+        private static final int INSET = 3;
+        private static final int SIZE  = 2 * INSET + 1;
+
+        final PlasticPalette palette;
+        private final BufferedImage image;
+
+        NineSliceBorder(ButtonState state, PlasticPalette palette) {
+            this.palette = palette;
+            image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB_PRE);
+            Graphics2D g2 = image.createGraphics();
+            paintButtonBorder(g2, 0, 0, SIZE, SIZE, state, palette);
+            g2.dispose();
+        }
+
+        /**
+         * Checks and answers whether the border can be painted from
+         * the slices. The Graphics must not scale by a fraction, because
+         * the slices are stretched with nearest neighbor interpolation.
+         */
+        static boolean canPaint(Graphics g, int w, int h) {
+            if (w < SIZE || h < SIZE || !(g instanceof Graphics2D)) {
+                return false;
+            }
+            AffineTransform t = ((Graphics2D) g).getTransform();
+            int type = t.getType() & ~AffineTransform.TYPE_TRANSLATION;
+            if (type == AffineTransform.TYPE_IDENTITY) {
+                return true;
+            }
+            return type == AffineTransform.TYPE_UNIFORM_SCALE
+                && t.getScaleX() == Math.rint(t.getScaleX());
+        }
+
+        void paint(Graphics g, int x, int y, int w, int h) {
+            int x1 = x + INSET;
+            int x2 = x + w - INSET;
+            int y1 = y + INSET;
+            int y2 = y + h - INSET;
+            int s = INSET + 1;
+            // Corners
+            g.drawImage(image, x,  y,  x1,    y1,    0, 0, INSET, INSET, null);
+            g.drawImage(image, x2, y,  x + w, y1,    s, 0, SIZE,  INSET, null);
+            g.drawImage(image, x,  y2, x1,    y + h, 0, s, INSET, SIZE,  null);
+            g.drawImage(image, x2, y2, x + w, y + h, s, s, SIZE,  SIZE,  null);
+            // Edges
+            g.drawImage(image, x1, y,  x2,    y1,    INSET, 0, s, INSET, null);
+            g.drawImage(image, x1, y2, x2,    y + h, INSET, s, s, SIZE,  null);
+            g.drawImage(image, x,  y1, x1,    y2,    0, INSET, INSET, s, null);
+            g.drawImage(image, x2, y1, x + w, y2,    s, INSET, SIZE,  s, null);
+        }
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.plastic;
+
+import java.awt.Rectangle;
+
+/**
+ * A spatial index over the tab rectangles of a tabbed pane that finds
+ * the tab at a coordinate in logarithmic time without allocation.
+ * Built by the Plastic tabbed pane layouts after the tab rectangles
+ * have been calculated.<p>
+ *
+ * The runs are sorted by their position across the tab runs and are
+ * looked up by binary search. Within a run the tabs are contiguous
+ * and sorted along the run in ascending or - for right-to-left
+ * orientation - descending order, and are looked up by binary search
+ * too. Since the selected tab is padded so that it overlaps its
+ * neighbors, it is checked separately. As with a linear scan,
+ * the lowest index of the tabs that contain the coordinate wins.<p>
+ *
+ * Falls back to a linear scan if the tab count has changed
+ * since the index has been built.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ *
+ * @see PlasticTabbedPaneUI#tabForCoordinate(javax.swing.JTabbedPane, int, int)
+ *
+ * @since 2.9
+ */
+final class TabHitIndex {
+
+    private boolean valid;
+    private boolean horizontal;
+    private int tabCount;
+    private int selectedIndex;
+    private int runCount;
+    private int maxRunExtent;
+
+    // Per run, sorted by runMin.
+    private int[] runStart    = new int[4];
+    private int[] runEnd      = new int[4];
+    private int[] runMin      = new int[4];
+    private int[] runMax      = new int[4];
+    private boolean[] runDescending = new boolean[4];
+
+
+    // Building ***************************************************************
+
+    /**
+     * Builds this index for the given tab rectangles and runs.
+     *
+     * @param rects          the tab rectangles
+     * @param tabCount       the number of tabs
+     * @param tabRuns        the index of the first tab per run
+     * @param runCount       the number of runs
+     * @param horizontal     true if the runs extend horizontally,
+     *     i.e. the tabs are placed at the top or bottom
+     * @param selectedIndex  the index of the selected (padded) tab, or -1
+     */
+    void build(Rectangle[] rects, int tabCount, int[] tabRuns, int runCount,
+            boolean horizontal, int selectedIndex) {
+        this.valid         = false;
+        this.horizontal    = horizontal;
+        this.tabCount      = tabCount;
+        this.selectedIndex = selectedIndex;
+        this.runCount      = 0;
+        this.maxRunExtent  = 0;
+        if (tabCount == 0 || runCount == 0 || rects.length < tabCount) {
+            valid = true;
+            return;
+        }
+        ensureRunCapacity(runCount);
+        for (int run = 0; run < runCount; run++) {
+            int start = tabRuns[run];
+            int next  = tabRuns[run == runCount - 1 ? 0 : run + 1];
+            int end   = next != 0 ? next - 1 : tabCount - 1;
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int i = start; i <= end; i++) {
+                Rectangle r = rects[i];
+                int crossStart = horizontal ? r.y : r.x;
+                int crossSize  = horizontal ? r.height : r.width;
+                min = Math.min(min, crossStart);
+                max = Math.max(max, crossStart + crossSize);
+            }
+            int k = this.runCount++;
+            runStart[k] = start;
+            runEnd[k]   = end;
+            runMin[k]   = min;
+            runMax[k]   = max;
+            runDescending[k] = main(rects[start]) > main(rects[end]);
+            maxRunExtent = Math.max(maxRunExtent, max - min);
+        }
+        sortRuns();
+        valid = true;
+    }
+
+
+    /**
+     * Sorts the runs by their minimum cross coordinate. The layouts
+     * place the runs in ascending or descending order, except for
+     * the rotated selected run; hence reverses descending runs first,
+     * so that the insertion sort runs in about linear time.
+     */
+    private void sortRuns() {
+        int n = runCount;
+        if (n > 1 && runMin[0] > runMin[n - 1]) {
+            for (int i = 0, j = n - 1; i < j; i++, j--) {
+                swap(i, j);
+            }
+        }
+        for (int i = 1; i < n; i++) {
+            for (int k = i; k > 0 && runMin[k - 1] > runMin[k]; k--) {
+                swap(k - 1, k);
+            }
+        }
+    }
+
+
+    private void swap(int i, int j) {
+        swap(runStart, i, j);
+        swap(runEnd,   i, j);
+        swap(runMin,   i, j);
+        swap(runMax,   i, j);
+        boolean descending = runDescending[i];
+        runDescending[i] = runDescending[j];
+        runDescending[j] = descending;
+    }
+
+
+    private static void swap(int[] array, int i, int j) {
+        int value = array[i];
+        array[i] = array[j];
+        array[j] = value;
+    }
+
+
+    /**
+     * Invalidates this index; the next lookup scans linearly.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+
+    private void ensureRunCapacity(int capacity) {
+        if (runStart.length >= capacity) {
+            return;
+        }
+        int newLength = Math.max(capacity, 2 * runStart.length);
+        runStart = new int[newLength];
+        runEnd   = new int[newLength];
+        runMin   = new int[newLength];
+        runMax   = new int[newLength];
+        runDescending = new boolean[newLength];
+    }
+
+
+    // Lookup *****************************************************************
+
+    /**
+     * Returns the index of the first tab that contains the given point.
+     *
+     * @param rects     the tab rectangles this index has been built for
+     * @param tabCount  the current number of tabs
+     * @param x         the x coordinate in the tab rectangles' space
+     * @param y         the y coordinate in the tab rectangles' space
+     * @return the index of the tab at the given point, or -1 if none
+     */
+    int tabForCoordinate(Rectangle[] rects, int tabCount, int x, int y) {
+        if (!valid || tabCount != this.tabCount || rects.length < tabCount) {
+            return linearScan(rects, Math.min(tabCount, rects.length), x, y);
+        }
+        int result = -1;
+        if (   selectedIndex >= 0
+            && selectedIndex < tabCount
+            && rects[selectedIndex].contains(x, y)) {
+            result = selectedIndex;
+        }
+        int cross = horizontal ? y : x;
+        int main  = horizontal ? x : y;
+
+        // Find the last run that starts at or before the cross coordinate,
+        // then visit the preceding runs that may still extend beyond it.
+        int low  = 0;
+        int high = runCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (runMin[mid] <= cross) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        for (int run = high; run >= 0 && runMin[run] + maxRunExtent > cross; run--) {
+            if (cross >= runMax[run]) {
+                continue;
+            }
+            int candidate = findInRun(rects, run, main);
+            int from = Math.max(runStart[run], candidate - 1);
+            int to   = Math.min(runEnd[run],   candidate + 1);
+            for (int i = from; i <= to; i++) {
+                if ((result == -1 || i < result) && rects[i].contains(x, y)) {
+                    result = i;
+                }
+            }
+        }
+        return result;
+    }
+
+
+    /**
+     * Returns the index of the tab that starts closest before or at
+     * the given main axis coordinate, if this index has been built
+     * for a single run. Used to find the visible tabs
+     * in the scroll tab layout.
+     *
+     * @param rects     the tab rectangles this index has been built for
+     * @param tabCount  the current number of tabs
+     * @param main      the x coordinate for horizontal runs, y otherwise
+     * @return the tab index, or -1 if the index is invalid
+     *     or has more than one run
+     */
+    int tabAtOrBefore(Rectangle[] rects, int tabCount, int main) {
+        if (!valid || tabCount != this.tabCount || runCount != 1 || rects.length < tabCount) {
+            return -1;
+        }
+        return findInRun(rects, 0, main);
+    }
+
+
+    /**
+     * Returns the index of the tab in the given run that starts
+     * closest before or at the given main axis coordinate.
+     */
+    private int findInRun(Rectangle[] rects, int run, int main) {
+        int low  = runStart[run];
+        int high = runEnd[run];
+        if (runDescending[run]) {
+            // Find the first tab that starts at or before main.
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (main(rects[mid]) <= main) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+        // Find the last tab that starts at or before main.
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (main(rects[mid]) <= main) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+
+    private int main(Rectangle r) {
+        return horizontal ? r.x : r.y;
+    }
+
+
+    private static int linearScan(Rectangle[] rects, int tabCount, int x, int y) {
+        for (int i = 0; i < tabCount; i++) {
+            if (rects[i].contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+}
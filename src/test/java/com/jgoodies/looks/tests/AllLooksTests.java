@@ -41,7 +41,11 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-    OptionsTest.class
+    OptionsTest.class,
+    PaintThroughputTest.class,
+    PopupMenuLayoutTest.class,
+    TabHitIndexTest.class,
+    TabMeasurementTest.class
 })
 public final class AllLooksTests {
 
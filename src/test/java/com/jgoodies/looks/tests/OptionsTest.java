@@ -71,4 +71,27 @@ public final class OptionsTest extends TestCase {
     }
 
 
+    /**
+     * Checks that the popup cache size can be set via the Options
+     * and rejects negative sizes.
+     */
+    public static void testPopupCacheSize() {
+        UIManager.put(Options.POPUP_CACHE_SIZE_KEY, null);
+        assertEquals("The default popup cache size.",
+                Options.DEFAULT_POPUP_CACHE_SIZE,
+                Options.getPopupCacheSize());
+
+        Options.setPopupCacheSize(12);
+        assertEquals("The popup cache size has been set.", 12, Options.getPopupCacheSize());
+
+        try {
+            Options.setPopupCacheSize(-1);
+            fail("A negative popup cache size shall be rejected.");
+        } catch (IllegalArgumentException e) {
+            // The expected behavior
+        }
+        UIManager.put(Options.POPUP_CACHE_SIZE_KEY, null);
+    }
+
+
 }
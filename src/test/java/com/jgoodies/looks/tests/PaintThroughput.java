@@ -0,0 +1,520 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.tests;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.GridLayout;
+import java.awt.image.BufferedImage;
+import java.io.FileWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JComboBox;
+import javax.swing.JComponent;
+import javax.swing.JDesktopPane;
+import javax.swing.JInternalFrame;
+import javax.swing.JLabel;
+import javax.swing.JMenu;
+import javax.swing.JMenuBar;
+import javax.swing.JMenuItem;
+import javax.swing.JPanel;
+import javax.swing.JPopupMenu;
+import javax.swing.JRadioButton;
+import javax.swing.JScrollBar;
+import javax.swing.JSpinner;
+import javax.swing.JTabbedPane;
+import javax.swing.JToggleButton;
+import javax.swing.JTree;
+import javax.swing.KeyStroke;
+import javax.swing.LookAndFeel;
+import javax.swing.RepaintManager;
+import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.UnsupportedLookAndFeelException;
+
+import com.jgoodies.looks.plastic.Plastic3DLookAndFeel;
+import com.jgoodies.looks.plastic.PlasticLookAndFeel;
+import com.jgoodies.looks.plastic.PlasticTheme;
+import com.jgoodies.looks.plastic.PlasticXPLookAndFeel;
+
+/**
+ * Paints a gallery of standard components offscreen with all
+ * Plastic look&amp;feels and all installed Plastic themes, and reports
+ * the paint throughput as CSV: frames per second, milliseconds per
+ * frame and component type, and allocated bytes per frame.<p>
+ *
+ * The allocated bytes are available only if the JVM provides
+ * {@code com.sun.management.ThreadMXBean}; otherwise they are
+ * reported as -1. The allocations per component type are measured
+ * in a separate pass, so that they don't add to the frame times.<p>
+ *
+ * Run it from the command line with:
+ * <pre>
+ * java -Djava.awt.headless=true com.jgoodies.looks.tests.PaintThroughput [frames] [csvFile]
+ * </pre>
+ * The {@link PaintThroughputTest} runs it as part of the unit tests.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+public final class PaintThroughput {
+
+    /**
+     * The CSV header line, see {@link Result#toCSV()}.
+     */
+    public static final String CSV_HEADER =
+        "lookAndFeel,theme,component,frames,msPerFrame,framesPerSecond,bytesPerFrame";
+
+    /**
+     * The component name used for the whole gallery.
+     */
+    public static final String FRAME = "Frame";
+
+    private static final int WIDTH  = 800;
+    private static final int HEIGHT = 600;
+
+    private static final int DEFAULT_FRAMES = 50;
+
+
+    private PaintThroughput() {
+        // Overrides default constructor; prevents instantiation.
+    }
+
+
+    // Launching **************************************************************
+
+    /**
+     * Measures all look&amp;feels and themes and writes the CSV
+     * to the given file, or to the console if no file is specified.
+     *
+     * @param args   optional number of frames and optional CSV file name
+     * @throws Exception if the measurement fails
+     */
+    public static void main(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        PrintWriter out = args.length > 1
+            ? new PrintWriter(new FileWriter(args[1]))
+            : new PrintWriter(System.out);
+        try {
+            out.println(CSV_HEADER);
+            for (Result result : measureAll(frames)) {
+                out.println(result.toCSV());
+            }
+        } finally {
+            out.flush();
+            if (args.length > 1) {
+                out.close();
+            }
+        }
+    }
+
+
+    // Measuring **************************************************************
+
+    /**
+     * Measures the paint throughput for all Plastic look&amp;feels
+     * and all installed Plastic themes. Restores the look&amp;feel
+     * and theme that were set before.
+     *
+     * @param frames   the number of frames to paint per look and theme
+     * @return the results, one per component type plus one for the frame,
+     *     for every look&amp;feel and theme
+     *
+     * @throws Exception if the look&amp;feel cannot be set,
+     *     or if the painting fails
+     */
+    public static List<Result> measureAll(final int frames) throws Exception {
+        final List<Result> results = new ArrayList<>();
+        runInEventDispatchThread(new Runnable() {
+            @Override
+            public void run() {
+                LookAndFeel oldLaf = UIManager.getLookAndFeel();
+                PlasticTheme oldTheme = PlasticLookAndFeel.getPlasticTheme();
+                try {
+                    LookAndFeel[] lafs = {
+                        new PlasticLookAndFeel(),
+                        new Plastic3DLookAndFeel(),
+                        new PlasticXPLookAndFeel()};
+                    for (LookAndFeel laf : lafs) {
+                        for (PlasticTheme theme : PlasticLookAndFeel.getInstalledThemes()) {
+                            results.addAll(measure(laf, theme, frames));
+                        }
+                    }
+                } catch (UnsupportedLookAndFeelException e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    PlasticLookAndFeel.setPlasticTheme(oldTheme);
+                    try {
+                        UIManager.setLookAndFeel(oldLaf);
+                    } catch (UnsupportedLookAndFeelException e) {
+                        // Keep the current look&feel.
+                    }
+                }
+            }
+        });
+        return results;
+    }
+
+
+    /**
+     * Installs the given look&amp;feel and theme, builds the gallery,
+     * paints one frame to warm up, and then measures the given
+     * number of frames. Must be invoked in the event dispatch thread.
+     */
+    private static List<Result> measure(LookAndFeel laf, PlasticTheme theme, int frames)
+            throws UnsupportedLookAndFeelException {
+        PlasticLookAndFeel.setPlasticTheme(theme);
+        UIManager.setLookAndFeel(laf);
+
+        Map<String, JComponent> gallery = buildGallery();
+        JPanel panel = new JPanel(new GridLayout(0, 3, 4, 4));
+        for (JComponent c : gallery.values()) {
+            panel.add(c);
+        }
+        panel.setSize(WIDTH, HEIGHT);
+        layoutTree(panel);
+        RepaintManager.currentManager(panel).setDoubleBufferingEnabled(false);
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = image.createGraphics();
+        Map<String, long[]> stats = new LinkedHashMap<>();
+        for (String name : gallery.keySet()) {
+            stats.put(name, new long[2]);
+        }
+        try {
+            paintFrame(g2, gallery, null, false);
+            long allocatedBefore = getAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                paintFrame(g2, gallery, stats, false);
+            }
+            long frameNanos = System.nanoTime() - start;
+            long allocatedAfter = getAllocatedBytes();
+            long bytesPerFrame = allocatedBefore < 0 || allocatedAfter < 0
+                ? -1
+                : (allocatedAfter - allocatedBefore) / frames;
+
+            // Measure the allocations per component in a separate pass,
+            // so that the allocation queries don't affect the frame times.
+            if (bytesPerFrame >= 0) {
+                for (int i = 0; i < frames; i++) {
+                    paintFrame(g2, gallery, stats, true);
+                }
+            }
+
+            String lafName = laf.getName();
+            String themeName = theme.getName();
+            List<Result> results = new ArrayList<>();
+            results.add(new Result(lafName, themeName, FRAME, frames, frameNanos, bytesPerFrame));
+            for (Map.Entry<String, long[]> entry : stats.entrySet()) {
+                long[] values = entry.getValue();
+                results.add(new Result(lafName, themeName, entry.getKey(),
+                        frames, values[0], bytesPerFrame < 0 ? -1 : values[1] / frames));
+            }
+            return results;
+        } finally {
+            g2.dispose();
+        }
+    }
+
+
+    /**
+     * Paints all gallery components at their location in the gallery.
+     * If a map is given, accumulates per component type either
+     * the nanoseconds or the allocated bytes.
+     */
+    private static void paintFrame(Graphics2D g2, Map<String, JComponent> gallery,
+            Map<String, long[]> stats, boolean allocations) {
+        for (Map.Entry<String, JComponent> entry : gallery.entrySet()) {
+            JComponent c = entry.getValue();
+            Graphics2D cg = (Graphics2D) g2.create(c.getX(), c.getY(), c.getWidth(), c.getHeight());
+            if (stats == null) {
+                c.paint(cg);
+            } else if (allocations) {
+                long allocated = getAllocatedBytes();
+                c.paint(cg);
+                stats.get(entry.getKey())[1] += getAllocatedBytes() - allocated;
+            } else {
+                long start = System.nanoTime();
+                c.paint(cg);
+                stats.get(entry.getKey())[0] += System.nanoTime() - start;
+            }
+            cg.dispose();
+        }
+    }
+
+
+    // Building the Gallery ***************************************************
+
+    private static Map<String, JComponent> buildGallery() {
+        Map<String, JComponent> gallery = new LinkedHashMap<>();
+        gallery.put("Button",        buildButtons());
+        gallery.put("ToggleButton",  buildToggleButtons());
+        gallery.put("ComboBox",      buildComboBoxes());
+        gallery.put("ScrollBar",     buildScrollBars());
+        gallery.put("TabbedPane",    buildTabbedPane());
+        gallery.put("Menu",          buildMenus());
+        gallery.put("Tree",          buildTree());
+        gallery.put("Spinner",       buildSpinners());
+        gallery.put("InternalFrame", buildInternalFrame());
+        return gallery;
+    }
+
+
+    private static JComponent buildButtons() {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 2, 2));
+        JButton defaultButton = new JButton("OK");
+        panel.add(defaultButton);
+        panel.add(new JButton("Cancel"));
+        JButton disabled = new JButton("Disabled");
+        disabled.setEnabled(false);
+        panel.add(disabled);
+        JButton pressed = new JButton("Pressed");
+        pressed.getModel().setArmed(true);
+        pressed.getModel().setPressed(true);
+        panel.add(pressed);
+        return panel;
+    }
+
+
+    private static JComponent buildToggleButtons() {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 2, 2));
+        JToggleButton selected = new JToggleButton("Bold", true);
+        panel.add(selected);
+        panel.add(new JToggleButton("Italic"));
+        JCheckBox checkBox = new JCheckBox("Check", true);
+        panel.add(checkBox);
+        panel.add(new JCheckBox("Uncheck"));
+        panel.add(new JRadioButton("Radio", true));
+        panel.add(new JRadioButton("Other"));
+        return panel;
+    }
+
+
+    private static JComponent buildComboBoxes() {
+        JPanel panel = new JPanel(new GridLayout(0, 1, 2, 2));
+        String[] values = {"Left", "Center", "Right"};
+        panel.add(new JComboBox<>(values));
+        JComboBox<String> editable = new JComboBox<>(values);
+        editable.setEditable(true);
+        panel.add(editable);
+        JComboBox<String> disabled = new JComboBox<>(values);
+        disabled.setEnabled(false);
+        panel.add(disabled);
+        return panel;
+    }
+
+
+    private static JComponent buildScrollBars() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(new JScrollBar(JScrollBar.VERTICAL, 30, 20, 0, 100), BorderLayout.EAST);
+        panel.add(new JScrollBar(JScrollBar.HORIZONTAL, 10, 40, 0, 100), BorderLayout.SOUTH);
+        return panel;
+    }
+
+
+    private static JComponent buildTabbedPane() {
+        JTabbedPane tabbedPane = new JTabbedPane();
+        for (int i = 1; i <= 6; i++) {
+            tabbedPane.addTab("Tab " + i, new JLabel("Content " + i));
+        }
+        return tabbedPane;
+    }
+
+
+    private static JComponent buildMenus() {
+        JPanel panel = new JPanel(new BorderLayout());
+        JMenuBar menuBar = new JMenuBar();
+        for (String name : new String[]{"File", "Edit", "View", "Help"}) {
+            menuBar.add(new JMenu(name));
+        }
+        panel.add(menuBar, BorderLayout.NORTH);
+        JPopupMenu popupMenu = new JPopupMenu();
+        String[] names = {"New", "Open...", "Save", "Save As...", "Print...", "Exit"};
+        char[] keys = {'N', 'O', 'S', 0, 'P', 'Q'};
+        for (int i = 0; i < names.length; i++) {
+            JMenuItem item = new JMenuItem(names[i]);
+            if (keys[i] != 0) {
+                item.setAccelerator(KeyStroke.getKeyStroke("ctrl " + keys[i]));
+            }
+            popupMenu.add(item);
+            if (i == 3) {
+                popupMenu.addSeparator();
+            }
+        }
+        panel.add(popupMenu, BorderLayout.CENTER);
+        return panel;
+    }
+
+
+    private static JComponent buildTree() {
+        JTree tree = new JTree();
+        for (int row = 0; row < tree.getRowCount(); row++) {
+            tree.expandRow(row);
+        }
+        tree.setSelectionRow(2);
+        return tree;
+    }
+
+
+    private static JComponent buildSpinners() {
+        JPanel panel = new JPanel(new GridLayout(0, 1, 2, 2));
+        panel.add(new JSpinner(new SpinnerNumberModel(42, 0, 100, 1)));
+        JSpinner disabled = new JSpinner(new SpinnerNumberModel(7, 0, 100, 1));
+        disabled.setEnabled(false);
+        panel.add(disabled);
+        return panel;
+    }
+
+
+    private static JComponent buildInternalFrame() {
+        JDesktopPane desktop = new JDesktopPane();
+        JInternalFrame frame = new JInternalFrame("Internal Frame", true, true, true, true);
+        frame.getContentPane().add(new JLabel("Content"));
+        frame.setBounds(10, 10, 200, 120);
+        frame.setVisible(true);
+        desktop.add(frame);
+        return desktop;
+    }
+
+
+    // Helper Code ************************************************************
+
+    /**
+     * Lays out the given container and all its descendants
+     * without requiring a native peer.
+     */
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                Dimension size = child.getSize();
+                if (size.width == 0 || size.height == 0) {
+                    child.setSize(child.getPreferredSize());
+                }
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the bytes allocated by the current thread so far,
+     * or -1 if the JVM can't tell.
+     */
+    private static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported()
+                    && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+
+    private static void runInEventDispatchThread(Runnable runnable) throws Exception {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+            return;
+        }
+        try {
+            SwingUtilities.invokeAndWait(runnable);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        }
+    }
+
+
+    // Helper Class ***********************************************************
+
+    /**
+     * Describes the paint throughput of one component type,
+     * or of the whole frame, for a look&amp;feel and theme.
+     */
+    public static final class Result {
+
+        private final String lookAndFeel;
+        private final String theme;
+        private final String component;
+        private final int frames;
+        private final long nanos;
+        private final long bytesPerFrame;
+
+        Result(String lookAndFeel, String theme, String component,
+                int frames, long nanos, long bytesPerFrame) {
+            this.lookAndFeel = lookAndFeel;
+            this.theme = theme;
+            this.component = component;
+            this.frames = frames;
+            this.nanos = nanos;
+            this.bytesPerFrame = bytesPerFrame;
+        }
+
+        public String getLookAndFeel()  { return lookAndFeel; }
+        public String getTheme()        { return theme; }
+        public String getComponent()    { return component; }
+        public long getBytesPerFrame()  { return bytesPerFrame; }
+
+        public double getMillisPerFrame() {
+            return frames == 0 ? 0 : nanos / 1e6 / frames;
+        }
+
+        public double getFramesPerSecond() {
+            return nanos == 0 ? Double.POSITIVE_INFINITY : frames * 1e9 / nanos;
+        }
+
+        public String toCSV() {
+            return String.format(Locale.ENGLISH, "\"%s\",\"%s\",%s,%d,%.4f,%.2f,%d",
+                    lookAndFeel, theme, component, frames,
+                    getMillisPerFrame(), getFramesPerSecond(), bytesPerFrame);
+        }
+    }
+
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.tests;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import com.jgoodies.looks.LookUtils;
+import com.jgoodies.looks.plastic.PlasticLookAndFeel;
+
+/**
+ * A regression gate for the paint throughput of the Plastic
+ * look&amp;feels, see {@link PaintThroughput}.<p>
+ *
+ * Paints every look&amp;feel and theme combination and fails if any
+ * frame rate drops below the minimum set in the system property
+ * {@code looks.paint.minFramesPerSecond}. The Maven build sets it
+ * to a conservative 20 frames per second, see the pom's properties;
+ * if the property is missing, the test falls back to this default.
+ * A minimum of 0 disables the check, for example on slow CI machines.
+ * If the system property {@code looks.paint.csv} is set,
+ * the results are written as CSV to the file it names.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+public final class PaintThroughputTest extends TestCase {
+
+    private static final String FRAMES_KEY = "looks.paint.frames";
+    private static final String MIN_FPS_KEY = "looks.paint.minFramesPerSecond";
+    private static final String CSV_KEY = "looks.paint.csv";
+
+    private static final String DEFAULT_MIN_FPS = "20";
+
+
+    /**
+     * Checks that all look&amp;feels and themes paint the gallery
+     * at least at the configured minimum frame rate.
+     *
+     * @throws Exception if the measurement or the CSV output fails
+     */
+    public static void testPaintThroughput() throws Exception {
+        int frames = Integer.parseInt(LookUtils.getSystemProperty(FRAMES_KEY, "5"));
+        double minFps = Double.parseDouble(
+                LookUtils.getSystemProperty(MIN_FPS_KEY, DEFAULT_MIN_FPS));
+        List<PaintThroughput.Result> results = PaintThroughput.measureAll(frames);
+
+        // Write the results before checking them, so that failed runs
+        // can be investigated too.
+        String csvFile = LookUtils.getSystemProperty(CSV_KEY);
+        if (csvFile != null) {
+            writeCSV(csvFile, results);
+        }
+
+        int expectedFrameResults = 3 * PlasticLookAndFeel.getInstalledThemes().size();
+        int frameResults = 0;
+        for (PaintThroughput.Result result : results) {
+            if (!PaintThroughput.FRAME.equals(result.getComponent())) {
+                continue;
+            }
+            frameResults++;
+            if (minFps > 0) {
+                assertTrue("Paint throughput for "
+                            + result.getLookAndFeel() + " with " + result.getTheme()
+                            + " is " + result.getFramesPerSecond()
+                            + " frames/sec, less than " + minFps + ".",
+                        result.getFramesPerSecond() >= minFps);
+            }
+        }
+        assertEquals("Every look and theme has been measured.",
+                expectedFrameResults, frameResults);
+    }
+
+
+    private static void writeCSV(String fileName, List<PaintThroughput.Result> results)
+            throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(fileName))) {
+            out.println(PaintThroughput.CSV_HEADER);
+            for (PaintThroughput.Result result : results) {
+                out.println(result.toCSV());
+            }
+        }
+    }
+
+
+}
@@ -0,0 +1,368 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.tests;
+
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
+import javax.swing.KeyStroke;
+import javax.swing.LookAndFeel;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+import junit.framework.TestCase;
+
+import com.jgoodies.looks.Options;
+import com.jgoodies.looks.common.PopupMenuLayout;
+import com.jgoodies.looks.plastic.PlasticXPLookAndFeel;
+
+/**
+ * A test case for class {@link PopupMenuLayout}. Checks that the
+ * incrementally tracked text and accelerator widths result in the same
+ * popup menu size as a full re-measure, i.e. a new popup menu
+ * with equal items, and checks the window of items laid out
+ * in scrolling mode. The tests run in the event dispatch thread.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+public final class PopupMenuLayoutTest extends TestCase {
+
+    private static final String LONG_TEXT = "A rather long menu item text";
+
+    private LookAndFeel oldLaf;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        oldLaf = UIManager.getLookAndFeel();
+        UIManager.setLookAndFeel(new PlasticXPLookAndFeel());
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        UIManager.setLookAndFeel(oldLaf);
+    }
+
+
+    @Override
+    protected void runTest() throws Throwable {
+        final Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    PopupMenuLayoutTest.super.runTest();
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+
+    // Tracked Widths *********************************************************
+
+    /**
+     * Checks that hidden items don't contribute to the widths.
+     */
+    public void testHideAndShowItems() {
+        JPopupMenu menu = createMenu();
+        JMenuItem longItem = (JMenuItem) menu.getComponent(1);
+        assertRemeasured("Initial size", menu);
+
+        longItem.setVisible(false);
+        assertRemeasured("Widest item hidden", menu);
+
+        longItem.setVisible(true);
+        assertRemeasured("Widest item shown again", menu);
+
+        JMenuItem accItem = (JMenuItem) menu.getComponent(3);
+        accItem.setVisible(false);
+        assertRemeasured("Item with the widest accelerator hidden", menu);
+    }
+
+
+    /**
+     * Checks that relabeled items update the widths,
+     * also if the widest item shrinks.
+     */
+    public void testRelabelAndShrinkItems() {
+        JMenuItem item = new JMenuItem("Open");
+        JPopupMenu menu = createMenu();
+        menu.add(item);
+        assertRemeasured("Initial size", menu);
+
+        item.setText(LONG_TEXT + " that has become even longer");
+        assertRemeasured("Item relabeled to the widest", menu);
+
+        item.setText("Short");
+        assertRemeasured("Widest item shrunk", menu);
+
+        JMenuItem accItem = (JMenuItem) menu.getComponent(3);
+        accItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_X, 0));
+        assertRemeasured("Widest accelerator shrunk", menu);
+
+        accItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F12,
+                InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK | InputEvent.ALT_DOWN_MASK));
+        assertRemeasured("Widest accelerator grown", menu);
+    }
+
+
+    /**
+     * Checks that removed items don't contribute to the widths.
+     */
+    public void testRemoveItems() {
+        JPopupMenu menu = createMenu();
+        assertRemeasured("Initial size", menu);
+
+        menu.remove(1);
+        assertRemeasured("Widest item removed", menu);
+
+        menu.remove(2);
+        assertRemeasured("Item with the widest accelerator removed", menu);
+
+        menu.removeAll();
+        menu.add(new JMenuItem("New"));
+        assertRemeasured("All items replaced", menu);
+    }
+
+
+    /**
+     * Checks that items are re-measured if their icon changes its size
+     * in place, or if the default icon size changes.
+     */
+    public void testResizeIcons() {
+        ImageIcon icon = new ImageIcon(createImage(16));
+        JMenuItem item = new JMenuItem("Open", icon);
+        JPopupMenu menu = createMenu();
+        menu.add(item);
+        assertRemeasured("Initial size", menu);
+
+        icon.setImage(createImage(64));
+        assertRemeasured("Icon enlarged in place", menu);
+
+        icon.setImage(createImage(16));
+        assertRemeasured("Icon shrunk in place", menu);
+
+        Dimension oldDefaultIconSize = Options.getDefaultIconSize();
+        try {
+            Options.setDefaultIconSize(new Dimension(40, 40));
+            assertRemeasured("Default icon size enlarged", menu);
+        } finally {
+            Options.setDefaultIconSize(oldDefaultIconSize);
+        }
+        assertRemeasured("Default icon size restored", menu);
+    }
+
+
+    // Scrolling Mode *********************************************************
+
+    /**
+     * Checks the bounds of the items in and outside the scroll window,
+     * and whether the menu can be scrolled up and down.
+     */
+    public void testScrollWindow() {
+        JPopupMenu menu = createScrollingMenu(30, 10);
+        PopupMenuLayout layout = (PopupMenuLayout) menu.getLayout();
+        assertTrue("30 items with 10 rows scroll.", layout.isScrolling(menu));
+        layOut(menu);
+        assertWindow(menu, 0, 10);
+        assertFalse("Can't scroll up at the top.", layout.canScrollUp(menu));
+        assertTrue("Can scroll down at the top.", layout.canScrollDown(menu));
+
+        assertTrue("Scrolled down.", layout.scrollBy(menu, 5));
+        assertWindow(menu, 5, 15);
+        assertTrue("Can scroll up in the middle.", layout.canScrollUp(menu));
+        assertTrue("Can scroll down in the middle.", layout.canScrollDown(menu));
+
+        assertTrue("Scrolled to the last item.", layout.scrollToVisible(menu, 29));
+        assertWindow(menu, 20, 30);
+        assertFalse("Can't scroll down at the bottom.", layout.canScrollDown(menu));
+        assertFalse("Doesn't scroll beyond the last item.", layout.scrollBy(menu, 100));
+        assertFalse("The last item is visible already.", layout.scrollToVisible(menu, 25));
+
+        assertTrue("Scrolled to the top.", layout.scrollBy(menu, -100));
+        assertWindow(menu, 0, 10);
+        assertFalse("Can't scroll up at the top again.", layout.canScrollUp(menu));
+    }
+
+
+    /**
+     * Checks that hidden items neither use rows nor get bounds
+     * in scrolling mode.
+     */
+    public void testScrollingSkipsHiddenItems() {
+        JPopupMenu menu = createScrollingMenu(12, 10);
+        PopupMenuLayout layout = (PopupMenuLayout) menu.getLayout();
+        menu.getComponent(3).setVisible(false);
+        layOut(menu);
+        assertWindow(menu, 0, 11);
+        assertTrue("The last item is out of the window.", layout.canScrollDown(menu));
+        Component second = menu.getComponent(2);
+        assertEquals("Hidden items leave no gap.",
+                second.getY() + second.getHeight(), menu.getComponent(4).getY());
+
+        assertTrue("Scrolled down by one row.", layout.scrollBy(menu, 1));
+        assertWindow(menu, 1, 12);
+        assertFalse("Can't scroll beyond the last item.", layout.canScrollDown(menu));
+
+        menu.getComponent(7).setVisible(false);
+        assertFalse("10 visible items don't scroll.", layout.isScrolling(menu));
+    }
+
+
+    /**
+     * Checks that the preferred width grows if a wider item
+     * has been scrolled into view, and doesn't shrink if it is
+     * scrolled out of view. Uses a label as the wide item, because
+     * menu items share their text width anyway.
+     */
+    public void testScrollingWidthGrows() {
+        JPopupMenu menu = createScrollingMenu(30, 10);
+        JLabel wideItem = new JLabel(LONG_TEXT);
+        menu.remove(25);
+        menu.insert(wideItem, 25);
+        PopupMenuLayout layout = (PopupMenuLayout) menu.getLayout();
+        layOut(menu);
+        int initialWidth = menu.getWidth();
+        assertTrue("The wide item is out of the first window.",
+                initialWidth < wideItem.getPreferredSize().width);
+
+        layout.scrollToVisible(menu, 25);
+        Insets insets = menu.getInsets();
+        int width = menu.getPreferredSize().width;
+        assertEquals("The preferred width fits the wide item.",
+                wideItem.getPreferredSize().width + insets.left + insets.right,
+                width);
+
+        layout.scrollBy(menu, -100);
+        assertEquals("The preferred width doesn't shrink while scrolling.",
+                width, menu.getPreferredSize().width);
+    }
+
+
+    // Helper Code ************************************************************
+
+    private static JPopupMenu createScrollingMenu(int itemCount, int rows) {
+        JPopupMenu menu = new JPopupMenu();
+        for (int i = 0; i < itemCount; i++) {
+            menu.add(new JMenuItem("Item " + i));
+        }
+        menu.putClientProperty(Options.POPUP_MENU_VISIBLE_ROW_COUNT_KEY, Integer.valueOf(rows));
+        return menu;
+    }
+
+
+    private static void layOut(JPopupMenu menu) {
+        menu.setSize(menu.getPreferredSize());
+        menu.doLayout();
+    }
+
+
+    /**
+     * Checks that the visible items with index in [first, end) are stacked
+     * between the scroll areas and that all other items have empty bounds.
+     */
+    private static void assertWindow(JPopupMenu menu, int first, int end) {
+        Insets insets = menu.getInsets();
+        int y = insets.top + PopupMenuLayout.SCROLL_AREA_HEIGHT;
+        for (int i = 0; i < menu.getComponentCount(); i++) {
+            Component c = menu.getComponent(i);
+            if (i >= first && i < end && c.isVisible()) {
+                assertEquals("Y of item " + i, y, c.getY());
+                assertTrue("Item " + i + " has a height.", c.getHeight() > 0);
+                y += c.getHeight();
+            } else {
+                assertEquals("Width of item " + i, 0, c.getWidth());
+                assertEquals("Height of item " + i, 0, c.getHeight());
+            }
+        }
+        assertTrue("The items fit between the scroll areas.",
+                y <= menu.getHeight() - insets.bottom - PopupMenuLayout.SCROLL_AREA_HEIGHT);
+    }
+
+
+    private static BufferedImage createImage(int size) {
+        return new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+    }
+
+
+    private static JPopupMenu createMenu() {
+        JPopupMenu menu = new JPopupMenu();
+        menu.add(new JMenuItem("New"));
+        menu.add(new JMenuItem(LONG_TEXT));
+        JMenuItem save = new JMenuItem("Save");
+        save.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK));
+        menu.add(save);
+        JMenuItem saveAll = new JMenuItem("Save All");
+        saveAll.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_S,
+                InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK));
+        menu.add(saveAll);
+        return menu;
+    }
+
+
+    /**
+     * Checks that the given menu has the size of a new menu
+     * with equal items, which measures all items from scratch.<p>
+     *
+     * A changed item invalidates its menu only if the menu is valid,
+     * but headless menus have no peer and so never become valid.
+     * Hence the menu is invalidated here, as a displayed menu would be.
+     */
+    private static void assertRemeasured(String message, JPopupMenu menu) {
+        JPopupMenu fresh = new JPopupMenu();
+        for (Component c : menu.getComponents()) {
+            JMenuItem item = (JMenuItem) c;
+            JMenuItem copy = new JMenuItem(item.getText(), item.getIcon());
+            copy.setAccelerator(item.getAccelerator());
+            copy.setVisible(item.isVisible());
+            fresh.add(copy);
+        }
+        menu.invalidate();
+        assertEquals(message, fresh.getPreferredSize(), menu.getPreferredSize());
+    }
+
+
+}
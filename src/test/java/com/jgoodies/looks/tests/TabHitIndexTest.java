@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.tests;
+
+import java.awt.Component;
+import java.awt.ComponentOrientation;
+import java.awt.Rectangle;
+
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import javax.swing.LookAndFeel;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.plaf.TabbedPaneUI;
+
+import junit.framework.TestCase;
+
+import com.jgoodies.looks.Options;
+import com.jgoodies.looks.plastic.PlasticXPLookAndFeel;
+
+/**
+ * A test case for the tab lookup by coordinate in the
+ * {@link com.jgoodies.looks.plastic.PlasticTabbedPaneUI} that uses
+ * the package private {@code TabHitIndex}. Compares the lookup
+ * with a linear scan over the tab bounds for every pixel of the pane
+ * in all tab placements, wrap and scroll tab layouts, both
+ * orientations, and different selected - and so padded - tabs.
+ * The tests run in the event dispatch thread.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+public final class TabHitIndexTest extends TestCase {
+
+    private static final int WIDTH  = 300;
+    private static final int HEIGHT = 200;
+
+    private static final int[] PLACEMENTS = {
+        JTabbedPane.TOP, JTabbedPane.BOTTOM, JTabbedPane.LEFT, JTabbedPane.RIGHT };
+
+    private static final int[] TAB_COUNTS = { 1, 5, 37 };
+
+
+    private LookAndFeel oldLaf;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        oldLaf = UIManager.getLookAndFeel();
+        UIManager.setLookAndFeel(new PlasticXPLookAndFeel());
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        UIManager.setLookAndFeel(oldLaf);
+    }
+
+
+    @Override
+    protected void runTest() throws Throwable {
+        final Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    TabHitIndexTest.super.runTest();
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+
+    // Tests ******************************************************************
+
+    public void testWrapTabLayout() {
+        checkAllPlacements(JTabbedPane.WRAP_TAB_LAYOUT, false);
+    }
+
+
+    public void testWrapTabLayoutRightToLeft() {
+        checkAllPlacements(JTabbedPane.WRAP_TAB_LAYOUT, true);
+    }
+
+
+    public void testScrollTabLayout() {
+        checkAllPlacements(JTabbedPane.SCROLL_TAB_LAYOUT, false);
+    }
+
+
+    public void testScrollTabLayoutRightToLeft() {
+        checkAllPlacements(JTabbedPane.SCROLL_TAB_LAYOUT, true);
+    }
+
+
+    public void testEmbeddedTabs() {
+        for (int placement : PLACEMENTS) {
+            JTabbedPane tabPane = createTabPane(placement,
+                    JTabbedPane.WRAP_TAB_LAYOUT, false, 37);
+            tabPane.putClientProperty(Options.EMBEDDED_TABS_KEY, Boolean.TRUE);
+            checkSelections(tabPane);
+        }
+    }
+
+
+    public void testEmptyTabPane() {
+        JTabbedPane tabPane = createTabPane(JTabbedPane.TOP,
+                JTabbedPane.WRAP_TAB_LAYOUT, false, 0);
+        tabPane.doLayout();
+        assertEquals("No tab is found in an empty tab pane.",
+                -1, tabPane.indexAtLocation(10, 10));
+    }
+
+
+    // Helper Code ************************************************************
+
+    private static void checkAllPlacements(int tabLayoutPolicy, boolean rightToLeft) {
+        for (int placement : PLACEMENTS) {
+            for (int tabCount : TAB_COUNTS) {
+                checkSelections(createTabPane(placement, tabLayoutPolicy,
+                        rightToLeft, tabCount));
+            }
+        }
+    }
+
+
+    private static JTabbedPane createTabPane(int placement,
+            int tabLayoutPolicy, boolean rightToLeft, int tabCount) {
+        JTabbedPane tabPane = new JTabbedPane(placement, tabLayoutPolicy);
+        tabPane.setComponentOrientation(rightToLeft
+                ? ComponentOrientation.RIGHT_TO_LEFT
+                : ComponentOrientation.LEFT_TO_RIGHT);
+        for (int i = 0; i < tabCount; i++) {
+            String title = i % 3 == 0 ? "Long Tab " + i : "Tab " + i;
+            tabPane.addTab(title, new JPanel());
+        }
+        tabPane.setSize(WIDTH, HEIGHT);
+        return tabPane;
+    }
+
+
+    /**
+     * Selects the first, a middle, and the last tab, and checks
+     * the lookup for each selection. Selecting a tab rotates the runs
+     * in the wrap tab layout and scrolls the tab into view
+     * in the scroll tab layout.
+     */
+    private static void checkSelections(JTabbedPane tabPane) {
+        int tabCount = tabPane.getTabCount();
+        int[] selections = { 0, tabCount / 2, tabCount - 1 };
+        for (int i = 0; i < selections.length; i++) {
+            int selection = selections[i];
+            if (i > 0 && selection == selections[i - 1]) {
+                continue;
+            }
+            tabPane.setSelectedIndex(selection);
+            tabPane.doLayout();
+            checkLookup(tabPane);
+        }
+    }
+
+
+    private static void checkLookup(JTabbedPane tabPane) {
+        TabbedPaneUI ui = tabPane.getUI();
+        int tabCount = tabPane.getTabCount();
+        Rectangle[] bounds = new Rectangle[tabCount];
+        for (int i = 0; i < tabCount; i++) {
+            bounds[i] = tabPane.getBoundsAt(i);
+        }
+        Rectangle viewRect = getViewportBounds(tabPane);
+        int hits = 0;
+        for (int y = -2; y < HEIGHT + 2; y++) {
+            for (int x = -2; x < WIDTH + 2; x++) {
+                int expected = linearScan(bounds, viewRect, x, y);
+                int actual = ui.tabForCoordinate(tabPane, x, y);
+                if (expected != actual) {
+                    fail("Wrong tab at (" + x + ", " + y + ") in " + describe(tabPane)
+                       + ": expected " + expected + " but was " + actual);
+                }
+                if (actual != -1) {
+                    hits++;
+                }
+            }
+        }
+        assertTrue("No tab has been found in " + describe(tabPane), hits > 0);
+    }
+
+
+    /**
+     * Returns the index of the first tab that contains the given point,
+     * like the BasicTabbedPaneUI's linear scan. In the scroll tab layout
+     * the point must be inside the tab viewport too.
+     */
+    private static int linearScan(Rectangle[] bounds, Rectangle viewRect, int x, int y) {
+        if (viewRect != null && !viewRect.contains(x, y)) {
+            return -1;
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            if (bounds[i].contains(x, y)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    private static Rectangle getViewportBounds(JTabbedPane tabPane) {
+        if (tabPane.getTabLayoutPolicy() != JTabbedPane.SCROLL_TAB_LAYOUT) {
+            return null;
+        }
+        for (Component child : tabPane.getComponents()) {
+            if (child instanceof JViewport) {
+                return child.getBounds();
+            }
+        }
+        fail("The scroll tab layout has no tab viewport.");
+        return null;
+    }
+
+
+    private static String describe(JTabbedPane tabPane) {
+        return "placement=" + tabPane.getTabPlacement()
+             + ", policy=" + tabPane.getTabLayoutPolicy()
+             + ", leftToRight=" + tabPane.getComponentOrientation().isLeftToRight()
+             + ", tabs=" + tabPane.getTabCount()
+             + ", selected=" + tabPane.getSelectedIndex()
+             + ", runs=" + tabPane.getTabRunCount();
+    }
+
+
+}
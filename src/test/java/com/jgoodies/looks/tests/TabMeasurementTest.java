@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2001-2015 JGoodies Software GmbH. All Rights Reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  o Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of JGoodies Software GmbH nor the names of
+ *    its contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO,
+ * THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS;
+ * OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY,
+ * WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE
+ * OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE,
+ * EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.jgoodies.looks.tests;
+
+import java.awt.Component;
+import java.awt.ComponentOrientation;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.LookAndFeel;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+
+import junit.framework.TestCase;
+
+import com.jgoodies.looks.Options;
+import com.jgoodies.looks.plastic.PlasticXPLookAndFeel;
+
+/**
+ * A test case for the per-tab measurements that the
+ * {@link com.jgoodies.looks.plastic.PlasticTabbedPaneUI} reuses
+ * in its tab layouts. Checks that the tab bounds, the run count,
+ * and the preferred size after a change equal those of a freshly
+ * laid out tabbed pane with equal tabs. Covers all tab placements,
+ * wrap and scroll tab layouts, and both orientations.
+ * The tests run in the event dispatch thread.
+ *
+ * @author Karsten Lentzsch
+ * @version $Revision: 1.1 $
+ */
+public final class TabMeasurementTest extends TestCase {
+
+    private static final int TAB_COUNT = 20;
+
+    private static final int[] PLACEMENTS = {
+        JTabbedPane.TOP, JTabbedPane.BOTTOM, JTabbedPane.LEFT, JTabbedPane.RIGHT };
+
+    private static final int[] POLICIES = {
+        JTabbedPane.WRAP_TAB_LAYOUT, JTabbedPane.SCROLL_TAB_LAYOUT };
+
+    private static final Icon SMALL_ICON =
+        new ImageIcon(new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB));
+
+    private static final Icon LARGE_ICON =
+        new ImageIcon(new BufferedImage(30, 30, BufferedImage.TYPE_INT_ARGB));
+
+
+    private LookAndFeel oldLaf;
+
+
+    @Override
+    protected void setUp() throws Exception {
+        oldLaf = UIManager.getLookAndFeel();
+        UIManager.setLookAndFeel(new PlasticXPLookAndFeel());
+    }
+
+
+    @Override
+    protected void tearDown() throws Exception {
+        UIManager.setLookAndFeel(oldLaf);
+    }
+
+
+    @Override
+    protected void runTest() throws Throwable {
+        final Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    TabMeasurementTest.super.runTest();
+                } catch (Throwable t) {
+                    failure[0] = t;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+
+    // Changes ****************************************************************
+
+    public void testTitleChanges() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.setTitleAt(3, "A much longer title");
+            assertRemeasured(tabPane, "title grows");
+            tabPane.setTitleAt(3, "T");
+            assertRemeasured(tabPane, "title shrinks");
+            tabPane.setTitleAt(3, "");
+            assertRemeasured(tabPane, "title empty");
+        }
+    }
+
+
+    public void testIconChanges() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.setIconAt(5, LARGE_ICON);
+            assertRemeasured(tabPane, "icon added");
+            tabPane.setIconAt(4, null);
+            assertRemeasured(tabPane, "icon removed");
+            tabPane.setIconAt(8, SMALL_ICON);
+            assertRemeasured(tabPane, "icon replaced");
+        }
+    }
+
+
+    public void testInsertAndRemoveTabs() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.insertTab("Inserted", LARGE_ICON, new JPanel(), null, 7);
+            assertRemeasured(tabPane, "tab inserted");
+            tabPane.insertTab("First", null, new JPanel(), null, 0);
+            assertRemeasured(tabPane, "first tab inserted");
+            tabPane.addTab("A long last tab", new JPanel());
+            assertRemeasured(tabPane, "last tab added");
+            tabPane.removeTabAt(10);
+            assertRemeasured(tabPane, "tab removed");
+            tabPane.removeTabAt(0);
+            tabPane.removeTabAt(tabPane.getTabCount() - 1);
+            assertRemeasured(tabPane, "first and last tab removed");
+        }
+    }
+
+
+    /**
+     * Tabs without a component can't be told apart by their component;
+     * checks that inserting and removing them next to each other
+     * doesn't mix up the measurements of the shifted tabs.
+     */
+    public void testInsertAndRemoveTabsWithoutComponent() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.insertTab("No Component", null, null, null, 2);
+            assertRemeasured(tabPane, "null tab inserted");
+            tabPane.insertTab("Another Tab Without Component", LARGE_ICON, null, null, 2);
+            assertRemeasured(tabPane, "null tab inserted before null tab");
+            tabPane.insertTab("X", null, null, null, 4);
+            assertRemeasured(tabPane, "null tab inserted after null tabs");
+            tabPane.removeTabAt(2);
+            assertRemeasured(tabPane, "null tab removed before null tabs");
+            tabPane.removeTabAt(3);
+            assertRemeasured(tabPane, "null tab removed after null tab");
+            tabPane.removeTabAt(2);
+            assertRemeasured(tabPane, "last null tab removed");
+        }
+    }
+
+
+    public void testHtmlTitles() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.setTitleAt(0, "<html><b>Bold</b> title</html>");
+            assertRemeasured(tabPane, "HTML title set");
+            tabPane.setTitleAt(0, "<html>Two<br>lines</html>");
+            assertRemeasured(tabPane, "HTML title changed");
+            tabPane.setTitleAt(0, "Plain");
+            assertRemeasured(tabPane, "HTML title replaced");
+        }
+    }
+
+
+    public void testFontChanges() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.setFont(tabPane.getFont().deriveFont(18f));
+            assertRemeasured(tabPane, "font grows");
+            tabPane.setFont(tabPane.getFont().deriveFont(9f));
+            assertRemeasured(tabPane, "font shrinks");
+        }
+    }
+
+
+    public void testTabComponents() {
+        for (JTabbedPane tabPane : createTabPanes()) {
+            tabPane.setTabComponentAt(4, new JLabel("Tab Component"));
+            assertRemeasured(tabPane, "tab component set");
+            tabPane.insertTab("Inserted", null, new JPanel(), null, 2);
+            assertRemeasured(tabPane, "tab inserted before tab component");
+            tabPane.removeTabAt(5);
+            assertRemeasured(tabPane, "tab with tab component removed");
+            tabPane.setTabComponentAt(6, new JLabel("X"));
+            tabPane.setTabComponentAt(6, null);
+            assertRemeasured(tabPane, "tab component removed");
+        }
+    }
+
+
+    // Helper Code ************************************************************
+
+    private static JTabbedPane[] createTabPanes() {
+        JTabbedPane[] tabPanes = new JTabbedPane[PLACEMENTS.length * POLICIES.length * 2];
+        int i = 0;
+        for (int placement : PLACEMENTS) {
+            for (int policy : POLICIES) {
+                for (int orientation = 0; orientation < 2; orientation++) {
+                    JTabbedPane tabPane = new JTabbedPane(placement, policy);
+                    tabPane.setComponentOrientation(orientation == 0
+                            ? ComponentOrientation.LEFT_TO_RIGHT
+                            : ComponentOrientation.RIGHT_TO_LEFT);
+                    tabPane.setSize(500, 300);
+                    for (int tab = 0; tab < TAB_COUNT; tab++) {
+                        tabPane.addTab("Tab " + tab,
+                                tab % 4 == 0 ? SMALL_ICON : null,
+                                new JPanel());
+                    }
+                    tabPane.doLayout();
+                    tabPanes[i++] = tabPane;
+                }
+            }
+        }
+        return tabPanes;
+    }
+
+
+    /**
+     * Creates a new tabbed pane with the same properties and equal tabs
+     * as the given one. Components and tab components can have a single
+     * parent only, and so are replaced by new panels and labels.
+     */
+    private static JTabbedPane copy(JTabbedPane tabPane) {
+        JTabbedPane copy = new JTabbedPane(
+                tabPane.getTabPlacement(), tabPane.getTabLayoutPolicy());
+        copy.setComponentOrientation(tabPane.getComponentOrientation());
+        copy.putClientProperty(Options.EMBEDDED_TABS_KEY,
+                tabPane.getClientProperty(Options.EMBEDDED_TABS_KEY));
+        copy.setFont(tabPane.getFont());
+        copy.setSize(tabPane.getSize());
+        for (int i = 0; i < tabPane.getTabCount(); i++) {
+            Component component = tabPane.getComponentAt(i) == null ? null : new JPanel();
+            copy.insertTab(tabPane.getTitleAt(i), tabPane.getIconAt(i), component, null, i);
+            Component tabComponent = tabPane.getTabComponentAt(i);
+            if (tabComponent != null) {
+                copy.setTabComponentAt(i, new JLabel(((JLabel) tabComponent).getText()));
+            }
+        }
+        copy.setSelectedIndex(tabPane.getSelectedIndex());
+        return copy;
+    }
+
+
+    /**
+     * Checks that the given tabbed pane's layout equals the layout
+     * of a new tabbed pane with equal tabs.
+     */
+    private static void assertRemeasured(JTabbedPane tabPane, String change) {
+        JTabbedPane expected = copy(tabPane);
+        expected.doLayout();
+        tabPane.doLayout();
+        String message = change + " (placement=" + tabPane.getTabPlacement()
+             + ", policy=" + tabPane.getTabLayoutPolicy()
+             + ", leftToRight=" + tabPane.getComponentOrientation().isLeftToRight() + ")";
+        assertEquals("Tab count after " + message,
+                expected.getTabCount(), tabPane.getTabCount());
+        for (int i = 0; i < expected.getTabCount(); i++) {
+            Rectangle expectedBounds = expected.getBoundsAt(i);
+            Rectangle actualBounds = tabPane.getBoundsAt(i);
+            assertEquals("Bounds of tab " + i + " after " + message,
+                    expectedBounds, actualBounds);
+        }
+        assertEquals("Run count after " + message,
+                expected.getTabRunCount(), tabPane.getTabRunCount());
+        assertEquals("Preferred size after " + message,
+                expected.getPreferredSize(), tabPane.getPreferredSize());
+    }
+
+
+}